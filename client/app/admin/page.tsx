@@ -6,7 +6,7 @@ import Link from 'next/link';
 import { Package, ShoppingCart, Users, TrendingUp, Loader2, DollarSign } from 'lucide-react';
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/components/ui/card';
 import { Button } from '@/components/ui/button';
-import { productApi, orderApi, userApi } from '@/lib/api';
+import { adminApi } from '@/lib/api';
 import { useUser } from '@/components/providers/user-provider';
 import { toast } from 'sonner';
 import { 
@@ -55,68 +55,30 @@ export default function AdminDashboard() {
 
   const fetchStats = async () => {
     try {
-      const [productsRes, ordersRes, usersRes] = await Promise.all([
-        productApi.getAll(),
-        orderApi.getAll(),
-        userApi.getAll(),
-      ]);
+      // Aggregates are maintained server-side, so the dashboard never downloads whole tables
+      const { data } = await adminApi.getStats();
 
-      const orders = ordersRes.data;
-      const products = productsRes.data;
-
-      const pendingOrders = orders.filter(
-        (order) => order.orderStatus === 'PENDING'
-      ).length;
-
-      // Calculate total revenue
-      let totalRevenue = 0;
-      const productMap = new Map(products.map(p => [p.id, p]));
-      
-      orders.forEach(order => {
-        const product = productMap.get(order.productId);
-        if (product) {
-          totalRevenue += product.cost * order.quantity;
-        }
-      });
-
-      // Group revenue by date (last 7 days)
-      const revenueByDate: { [key: string]: number } = {};
-      orders.forEach(order => {
-        const product = productMap.get(order.productId);
-        if (product) {
-          const date = new Date(order.createdAt).toLocaleDateString('en-US', { 
-            month: 'short', 
-            day: 'numeric' 
-          });
-          revenueByDate[date] = (revenueByDate[date] || 0) + (product.cost * order.quantity);
-        }
-      });
-
-      const revenueChartData = Object.entries(revenueByDate)
-        .map(([date, revenue]) => ({ date, revenue }))
-        .slice(-7);
-
-      // Group revenue by order status
-      const revenueByStatus: { [key: string]: number } = {};
-      orders.forEach(order => {
-        const product = productMap.get(order.productId);
-        if (product) {
-          const status = order.orderStatus;
-          revenueByStatus[status] = (revenueByStatus[status] || 0) + (product.cost * order.quantity);
-        }
-      });
-
-      const statusChartData = Object.entries(revenueByStatus).map(([status, revenue]) => ({
-        status,
+      const revenueChartData = Object.entries(data.dailyRevenue).map(([day, revenue]) => ({
+        date: new Date(`${day}T00:00:00`).toLocaleDateString('en-US', {
+          month: 'short',
+          day: 'numeric'
+        }),
         revenue,
       }));
 
+      const statusChartData = Object.entries(data.revenueByStatus)
+        .filter(([, revenue]) => revenue > 0)
+        .map(([status, revenue]) => ({
+          status,
+          revenue,
+        }));
+
       setStats({
-        totalProducts: productsRes.data.length,
-        totalOrders: ordersRes.data.length,
-        totalUsers: usersRes.data.length,
-        pendingOrders,
-        totalRevenue,
+        totalProducts: data.totalProducts,
+        totalOrders: data.totalOrders,
+        totalUsers: data.totalUsers,
+        pendingOrders: data.ordersByStatus.PENDING ?? 0,
+        totalRevenue: data.totalRevenue,
       });
       setRevenueData(revenueChartData);
       setStatusRevenueData(statusChartData);
@@ -60,18 +60,17 @@ export default function CheckoutPage() {
     if (!user || items.length === 0) return;
 
     setIsProcessing(true);
-    const createdOrderIds: number[] = [];
 
     try {
-      // Create an order for each item in the cart
-      for (const item of items) {
-        const response = await orderApi.create({
-          userId: user.id,
+      // Place every cart line in a single all-or-nothing request
+      const response = await orderApi.createBatch({
+        userId: user.id,
+        items: items.map((item) => ({
           productId: item.product.id,
           quantity: item.quantity,
-        });
-        createdOrderIds.push(response.data.id);
-      }
+        })),
+      });
+      const createdOrderIds = response.data.map((order) => order.id);
 
       // All orders created successfully
       setOrderIds(createdOrderIds);
@@ -80,7 +79,7 @@ export default function CheckoutPage() {
       toast.success(`Successfully placed ${createdOrderIds.length} order${createdOrderIds.length > 1 ? 's' : ''}!`);
     } catch (error) {
       console.error(error);
-      toast.error('Failed to place some orders. Please check stock availability.');
+      toast.error('Failed to place order. Please check stock availability.');
     } finally {
       setIsProcessing(false);
     }
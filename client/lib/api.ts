@@ -1,12 +1,16 @@
 import { 
+  AdminStats,
   ApiResponse, 
   User, 
   CreateUserDTO, 
   LoginDTO,
   Product, 
   CreateProductDTO, 
+  ProductFilterParams,
+  ProductSuggestion,
   Order, 
   CreateOrderDTO,
+  CreateBatchOrderDTO,
   OrderStatus 
 } from './types';
 
@@ -77,6 +81,17 @@ export const productApi = {
   
   getAvailable: () => fetchApi<Product[]>('/products/available'),
   
+  filter: (params: ProductFilterParams) => {
+    const query = new URLSearchParams();
+    Object.entries(params).forEach(([key, value]) => {
+      if (value !== undefined && value !== '') query.set(key, String(value));
+    });
+    return fetchApi<Product[]>(`/products/filter?${query.toString()}`);
+  },
+  
+  suggest: (q: string, limit = 10) =>
+    fetchApi<ProductSuggestion[]>(`/products/suggest?q=${encodeURIComponent(q)}&limit=${limit}`),
+  
   create: (product: CreateProductDTO) =>
     fetchApi<Product>('/products', {
       method: 'POST',
@@ -119,6 +134,12 @@ export const orderApi = {
       body: JSON.stringify(order),
     }),
   
+  createBatch: (batch: CreateBatchOrderDTO) =>
+    fetchApi<Order[]>('/orders/batch', {
+      method: 'POST',
+      body: JSON.stringify(batch),
+    }),
+  
   updateStatus: (id: number, status: OrderStatus) =>
     fetchApi<Order>(`/orders/${id}/status?status=${status}`, {
       method: 'PATCH',
@@ -129,3 +150,8 @@ export const orderApi = {
       method: 'DELETE',
     }),
 };
+
+// ============ ADMIN APIs ============
+export const adminApi = {
+  getStats: () => fetchApi<AdminStats>('/admin/stats'),
+};
@@ -4,6 +4,20 @@ export interface ApiResponse<T> {
   message: string;
   data: T;
   timestamp: string;
+  nextCursor?: number;
+}
+
+// Admin dashboard types
+export interface AdminStats {
+  totalProducts: number;
+  lowStockProducts: number;
+  totalOrders: number;
+  ordersByStatus: Record<OrderStatus, number>;
+  totalRevenue: number;
+  revenueByStatus: Record<OrderStatus, number>;
+  dailyRevenue: Record<string, number>;
+  totalUsers: number;
+  usersByRole: Record<Role, number>;
 }
 
 // User types
@@ -49,6 +63,22 @@ export interface CreateProductDTO {
   productUrl?: string;
 }
 
+export interface ProductSuggestion {
+  id: number;
+  productName: string;
+}
+
+export type ProductSortOrder = 'PRICE_ASC' | 'PRICE_DESC';
+
+export interface ProductFilterParams {
+  minCost?: number;
+  maxCost?: number;
+  inStock?: boolean;
+  name?: string;
+  sort?: ProductSortOrder;
+  limit?: number;
+}
+
 // Order types
 export type OrderStatus = 
   | 'PENDING' 
@@ -74,3 +104,13 @@ export interface CreateOrderDTO {
   productId: number;
   quantity: number;
 }
+
+export interface OrderLineDTO {
+  productId: number;
+  quantity: number;
+}
+
+export interface CreateBatchOrderDTO {
+  userId: number;
+  items: OrderLineDTO[];
+}
@@ -0,0 +1,76 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.ecommerce.config.JacksonConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Serializes list responses through the ObjectMapper configured in JacksonConfig, and through
+// a Jackson 3 mapper like the one Spring MVC writes responses with, with and without ?fields=
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private JsonMapper jsonMapper;
+    private List<ProductDTO> products;
+    private FieldSelector.Selection<ProductDTO> grid;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        jsonMapper = JsonMapper.builder().build();
+        grid = ProductDTO.FIELDS.select("id,productName,cost");
+        products = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            products.add(new ProductDTO(i, "Product " + i, 100, new BigDecimal("499.99"),
+                    "A reasonably detailed product description that mirrors what the storefront stores for item " + i,
+                    "https://images.unsplash.com/photo-" + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Products retrieved successfully", products));
+    }
+
+    @Benchmark
+    public byte[] productListMvc() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success("Products retrieved successfully", products));
+    }
+
+    @Benchmark
+    public byte[] selectedFields() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success("Products retrieved successfully", grid.apply(products)));
+    }
+
+    @Benchmark
+    public byte[] compactSelectedFields() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.compact(grid.apply(products)));
+    }
+}
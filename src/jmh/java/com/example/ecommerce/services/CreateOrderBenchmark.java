@@ -0,0 +1,77 @@
+package com.example.ecommerce.services;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.ecommerce.BenchmarkApplication;
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.UserDTO;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.repositories.OrderHistoryRepository;
+import com.example.ecommerce.repositories.OrderRepository;
+
+// End-to-end order placement through the transactional service against in-memory H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private OrderHistoryRepository orderHistoryRepository;
+    private OrderDTO request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderHistoryRepository = context.getBean(OrderHistoryRepository.class);
+
+        UserDTO user = context.getBean(UserService.class)
+                .createUser(new UserDTO(null, "Bench User", "bench@example.com", "password123", Role.USER, "Bench Street"));
+        ProductDTO product = context.getBean(ProductService.class)
+                .createProduct(new ProductDTO(null, "Bench Product", Integer.MAX_VALUE / 2, new BigDecimal("10.00"), "", null));
+
+        request = new OrderDTO();
+        request.setUserId(user.getId());
+        request.setProductId(product.getId());
+        request.setQuantity(1);
+    }
+
+    // Keeps the orders table from growing across iterations
+    @TearDown(Level.Iteration)
+    public void clearOrders() {
+        orderHistoryRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+}
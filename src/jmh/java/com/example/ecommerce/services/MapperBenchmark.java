@@ -0,0 +1,98 @@
+package com.example.ecommerce.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.ecommerce.BenchmarkApplication;
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.UserDTO;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Product;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.models.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private UserService userService;
+    private OrderService orderService;
+
+    private Product product;
+    private User user;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        productService = BenchmarkApplication.target(context, ProductService.class);
+        userService = BenchmarkApplication.target(context, UserService.class);
+        orderService = BenchmarkApplication.target(context, OrderService.class);
+
+        product = new Product();
+        product.setId(1L);
+        product.setProductName("Wireless Headphones");
+        product.setQuantity(120);
+        product.setCost(new BigDecimal("2499.00"));
+        product.setProductDesc("Over-ear wireless headphones with active noise cancellation and 30 hour battery life");
+        product.setProductUrl("https://images.unsplash.com/photo-1505740420928-5e560c06d30e");
+
+        user = new User();
+        user.setId(1L);
+        user.setName("Jane Doe");
+        user.setEmail("jane@example.com");
+        user.setPassword("password123");
+        user.setRole(Role.USER);
+        user.setAddress("221B Baker Street, London");
+
+        order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setProduct(product);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setQuantity(2);
+        order.setCreatedAt(LocalDateTime.now());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productService.convertToDTO(product);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return userService.convertToDTO(user);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderService.convertToDTO(order);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.ecommerce.services.ChangeCounters;
+
+@Configuration
+public class ConditionalGetConfig {
+
+    @Bean
+    public WebMvcConfigurer conditionalGetConfigurer(ChangeCounters changeCounters) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ConditionalGetInterceptor(changeCounters, ChangeCounters.Table.PRODUCTS))
+                        .addPathPatterns("/api/products", "/api/products/**")
+                        .excludePathPatterns("/api/products/cache/stats", "/api/products/*/stock/shards");
+                registry.addInterceptor(new ConditionalGetInterceptor(changeCounters, ChangeCounters.Table.ORDERS))
+                        .addPathPatterns("/api/orders", "/api/orders/**")
+                        .excludePathPatterns("/api/orders/status/bulk/**", "/api/orders/intake/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ecommerce.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.ecommerce.services.ChangeCounters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Tags GET responses with the table's change counter and answers a matching If-None-Match
+// with 304 before the controller runs. The version is read before the data, so a response
+// can only be newer than its tag, never older.
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ChangeCounters changeCounters;
+    private final ChangeCounters.Table table;
+
+    public ConditionalGetInterceptor(ChangeCounters changeCounters, ChangeCounters.Table table) {
+        this.changeCounters = changeCounters;
+        this.table = table;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        // Clients may keep the response but must revalidate before reusing it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(changeCounters.etag(table));
+    }
+}
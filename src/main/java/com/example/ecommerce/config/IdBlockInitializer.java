@@ -0,0 +1,43 @@
+package com.example.ecommerce.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Entity ids come from the id_blocks table in blocks of 50 (pooled-lo), so inserts can be
+// batched instead of reading back an auto-increment key per row. Each row holds the last
+// id handed out for its table; before anything is inserted it is raised to the highest
+// existing id, so rows created under the old IDENTITY columns keep their ids.
+@Component
+@DependsOn("entityManagerFactory")
+public class IdBlockInitializer {
+
+    private static final List<String> TABLES = List.of("users", "products", "orders");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdBlockInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String table : TABLES) {
+            // Table names come from the fixed list above
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            int updated = jdbcTemplate.update(
+                    "UPDATE id_blocks SET last_id = ? WHERE table_name = ? AND last_id < ?", maxId, table, maxId);
+            if (updated == 0) {
+                Integer rows = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM id_blocks WHERE table_name = ?", Integer.class, table);
+                if (rows == 0) {
+                    jdbcTemplate.update("INSERT INTO id_blocks (table_name, last_id) VALUES (?, ?)", table, maxId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ecommerce.config;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fair semaphore sized to the connection pool. Virtual threads queue here, where
+// waiting is cheap and measured, instead of piling up inside the pool itself.
+public class JdbcAdmissionLimiter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long maxWaitNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0);
+
+    public JdbcAdmissionLimiter(int maxPermits, long maxWaitMillis) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    public void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            admitted.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection");
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long waited = System.nanoTime() - start;
+        queueNanos.add(waited);
+        maxQueueNanos.accumulate(waited);
+        if (!acquired) {
+            timedOut.increment();
+            throw new SQLTransientConnectionException("Timed out after "
+                    + TimeUnit.NANOSECONDS.toMillis(waited) + "ms waiting for a database connection");
+        }
+        admitted.increment();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    // Averaged over every admission, including the ones that never had to wait
+    public double getAverageQueueMillis() {
+        long count = admitted.sum() + timedOut.sum();
+        return count == 0 ? 0.0 : queueNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1_000_000.0;
+    }
+}
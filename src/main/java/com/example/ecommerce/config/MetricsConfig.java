@@ -0,0 +1,144 @@
+package com.example.ecommerce.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.example.ecommerce.services.RequestMetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+// Wires the metrics sources: a statement listener on the pool for SQL, Hikari's tracker
+// for pool waits, and transaction listeners for transaction durations
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlMetricsListener sqlMetricsListener() {
+        return new SqlMetricsListener();
+    }
+
+    // Wraps the pool itself, ahead of any other DataSource wrapper
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlMetricsListener> listener) {
+        return new SqlMetricsDataSourcePostProcessor(listener);
+    }
+
+    @Bean
+    public static BeanPostProcessor poolMetricsPostProcessor(ObjectProvider<RequestMetricsService> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+                        @Override
+                        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                            metrics.getObject().recordConnectionWait(elapsedAcquiredNanos);
+                        }
+
+                        @Override
+                        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                            metrics.getObject().recordConnectionUsage(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+                        }
+
+                        @Override
+                        public void recordConnectionTimeout() {
+                            metrics.getObject().recordConnectionTimeout();
+                        }
+                    });
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TransactionExecutionListener transactionMetricsListener(RequestMetricsService metrics) {
+        return new TransactionExecutionListener() {
+            // Start times of the thread's open transactions, innermost last
+            private final ThreadLocal<StartTimes> starts = ThreadLocal.withInitial(StartTimes::new);
+
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                if (beginFailure == null) {
+                    starts.get().push(System.nanoTime());
+                }
+            }
+
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                completed();
+            }
+
+            @Override
+            public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+                completed();
+            }
+
+            private void completed() {
+                long start = starts.get().pop();
+                if (start != 0) {
+                    metrics.recordTransaction(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    private static final class SqlMetricsDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<SqlMetricsListener> listener;
+
+        private SqlMetricsDataSourcePostProcessor(ObjectProvider<SqlMetricsListener> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource) {
+                ProxyDataSource proxy = new ProxyDataSource(dataSource);
+                proxy.setProxyConfig(ProxyConfig.Builder.create()
+                        .dataSourceName(beanName)
+                        .queryListener(listener.getObject())
+                        .stopwatchFactory(new NanoTimeStopwatchFactory())
+                        .build());
+                return proxy;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    // REQUIRES_NEW nests at most a few levels; deeper transactions go untimed
+    private static final class StartTimes {
+        private final long[] times = new long[8];
+        private int depth;
+
+        private void push(long time) {
+            if (depth < times.length) {
+                times[depth] = time;
+            }
+            depth++;
+        }
+
+        private long pop() {
+            if (depth == 0) {
+                return 0;
+            }
+            depth--;
+            return depth < times.length ? times[depth] : 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ecommerce.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordingStream;
+
+// Counts JFR jdk.VirtualThreadPinned events, i.e. virtual threads that blocked while
+// stuck to their carrier (typically inside synchronized driver or pool code).
+// On JDKs without the event the stream simply never fires.
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    public PinnedThreadMonitor(Duration threshold) {
+        stream.enable(PINNED_EVENT).withThreshold(threshold);
+        stream.onEvent(PINNED_EVENT, event -> {
+            pinnedEvents.increment();
+            pinnedNanos.add(event.getDuration().toNanos());
+        });
+        stream.startAsync();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.sum();
+    }
+
+    public double getPinnedMillis() {
+        return pinnedNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
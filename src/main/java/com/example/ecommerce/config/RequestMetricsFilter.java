@@ -0,0 +1,58 @@
+package com.example.ecommerce.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.ecommerce.services.RequestMetricsService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Times each request end to end and attributes it, with the SQL it ran, to the
+// controller method that handled it. A request that goes async, such as a streaming
+// export, is recorded when its final dispatch completes, so the body's SQL counts too.
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String START_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".start";
+
+    private final RequestMetricsService requestMetricsService;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isAsyncDispatch(request)) {
+            request.setAttribute(SqlUsage.ATTRIBUTE, new SqlUsage());
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()
+                    && request.getAttribute(SqlUsage.ATTRIBUTE) instanceof SqlUsage sql
+                    && request.getAttribute(START_ATTRIBUTE) instanceof Long start
+                    && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                requestMetricsService.recordRequest(
+                        handler,
+                        request.getMethod(),
+                        (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        System.nanoTime() - start,
+                        sql.getStatements(),
+                        sql.getJdbcNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ecommerce.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Measures every statement run through the pool, whether Hibernate or a JdbcTemplate runs
+// it. Counts JDBC statement executions (a batch counts once, as one round trip) and the
+// time spent in them, in total and for the request that ran them, when there is one.
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    // Elapsed time is in nanoseconds; MetricsConfig gives the proxy a nano-time stopwatch
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        long elapsed = execution.getElapsedTime();
+        statements.increment();
+        jdbcNanos.add(elapsed);
+        SqlUsage usage = SqlUsage.current();
+        if (usage != null) {
+            usage.executed(elapsed);
+        }
+    }
+
+    public long totalStatements() {
+        return statements.sum();
+    }
+
+    public long totalJdbcNanos() {
+        return jdbcNanos.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ecommerce.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// SQL run on behalf of one request. Kept as a request attribute, so statements are
+// attributed wherever Spring binds the request: the thread that handles it and the
+// thread that writes a streaming response body.
+public final class SqlUsage {
+
+    static final String ATTRIBUTE = SqlUsage.class.getName();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+
+    static SqlUsage current() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null ? (SqlUsage) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+
+    void executed(long elapsedNanos) {
+        statements.increment();
+        jdbcNanos.add(elapsedNanos);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos.sum();
+    }
+}
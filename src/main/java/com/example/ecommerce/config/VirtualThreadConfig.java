@@ -0,0 +1,47 @@
+package com.example.ecommerce.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Active with spring.threads.virtual.enabled=true on a JDK that has virtual threads.
+// Tomcat then serves every request on its own virtual thread, so in-flight requests
+// are no longer capped by the worker pool; JDBC access is capped here instead.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public JdbcAdmissionLimiter jdbcAdmissionLimiter(
+            @Value("${jdbc.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${jdbc.admission.max-wait-ms:${spring.datasource.hikari.connection-timeout:30000}}") long maxWaitMillis) {
+        return new JdbcAdmissionLimiter(permits, maxWaitMillis);
+    }
+
+    @Bean
+    public static BeanPostProcessor admissionControlledDataSourcePostProcessor(ObjectProvider<JdbcAdmissionLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    return new AdmissionControlledDataSource(dataSource, limiter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            @Value("${jdbc.admission.pinned-threshold-ms:20}") long thresholdMillis) {
+        return new PinnedThreadMonitor(Duration.ofMillis(thresholdMillis));
+    }
+}
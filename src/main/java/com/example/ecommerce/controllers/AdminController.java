@@ -0,0 +1,44 @@
+package com.example.ecommerce.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.ecommerce.dto.AdminStatsDTO;
+import com.example.ecommerce.dto.ApiResponse;
+import com.example.ecommerce.dto.ExecutionStatsDTO;
+import com.example.ecommerce.dto.MetricsDTO;
+import com.example.ecommerce.services.AdminStatsService;
+import com.example.ecommerce.services.ExecutionStatsService;
+import com.example.ecommerce.services.RequestMetricsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final AdminStatsService adminStatsService;
+    private final ExecutionStatsService executionStatsService;
+    private final RequestMetricsService requestMetricsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<AdminStatsDTO>> getStats() {
+        AdminStatsDTO stats = adminStatsService.getStats();
+        return ResponseEntity.ok(ApiResponse.success("Dashboard statistics retrieved successfully", stats));
+    }
+
+    @GetMapping("/execution")
+    public ResponseEntity<ApiResponse<ExecutionStatsDTO>> getExecutionStats() {
+        ExecutionStatsDTO stats = executionStatsService.getStats();
+        return ResponseEntity.ok(ApiResponse.success("Execution statistics retrieved successfully", stats));
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<MetricsDTO>> getMetrics() {
+        MetricsDTO metrics = requestMetricsService.getMetrics();
+        return ResponseEntity.ok(ApiResponse.success("Request metrics retrieved successfully", metrics));
+    }
+}
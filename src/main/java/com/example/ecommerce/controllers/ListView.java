@@ -0,0 +1,41 @@
+package com.example.ecommerce.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.example.ecommerce.dto.ApiResponse;
+import com.example.ecommerce.dto.FieldSelector;
+
+// Applies the ?fields= and ?compact= parameters shared by the list endpoints. Built before
+// the query runs, so an unknown field name is rejected without touching the database.
+final class ListView<T> {
+
+    // Null when every field is wanted
+    private final FieldSelector.Selection<T> selection;
+    private final boolean compact;
+
+    private ListView(FieldSelector.Selection<T> selection, boolean compact) {
+        this.selection = selection;
+        this.compact = compact;
+    }
+
+    static <T> ListView<T> of(FieldSelector<T> selector, String fields, boolean compact) {
+        return new ListView<>(selector.select(fields), compact);
+    }
+
+    ApiResponse<List<T>> list(String message, List<T> data) {
+        List<T> rows = select(data);
+        return compact ? ApiResponse.compact(rows) : ApiResponse.success(message, rows);
+    }
+
+    ApiResponse<List<T>> page(String message, List<T> data, int limit, Function<T, Long> idExtractor) {
+        List<T> rows = select(data);
+        return compact
+                ? ApiResponse.compactPage(rows, limit, idExtractor)
+                : ApiResponse.page(message, rows, limit, idExtractor);
+    }
+
+    private List<T> select(List<T> data) {
+        return selection != null ? selection.apply(data) : data;
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.ecommerce.controllers;
 
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +16,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.ecommerce.dto.ApiResponse;
+import com.example.ecommerce.dto.BatchOrderDTO;
+import com.example.ecommerce.dto.BulkStatusJobDTO;
+import com.example.ecommerce.dto.BulkStatusUpdateDTO;
 import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.OrderIntakeDTO;
 import com.example.ecommerce.models.OrderStatus;
 import com.example.ecommerce.services.OrderService;
+import com.example.ecommerce.services.OrderStatusPipeline;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,11 +37,31 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusPipeline orderStatusPipeline;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderDTO>>> getAllOrders() {
+    public ResponseEntity<ApiResponse<List<OrderDTO>>> getAllOrders(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<OrderDTO> view = ListView.of(OrderDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<OrderDTO> orders = orderService.getOrdersPage(Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Orders retrieved successfully", orders, pageSize, OrderDTO::getId));
+        }
         List<OrderDTO> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
+        return ResponseEntity.ok(view.list("Orders retrieved successfully", orders));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = orderService::exportOrders;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -42,33 +71,104 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<OrderDTO>>> getOrdersByUserId(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponse<List<OrderDTO>>> getOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<OrderDTO> view = ListView.of(OrderDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<OrderDTO> orders = orderService.getOrdersByUserIdPage(userId, Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("User orders retrieved successfully", orders, pageSize, OrderDTO::getId));
+        }
         List<OrderDTO> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(ApiResponse.success("User orders retrieved successfully", orders));
+        return ResponseEntity.ok(view.list("User orders retrieved successfully", orders));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<OrderDTO>>> getOrdersByStatus(@PathVariable OrderStatus status) {
+    public ResponseEntity<ApiResponse<List<OrderDTO>>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<OrderDTO> view = ListView.of(OrderDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<OrderDTO> orders = orderService.getOrdersByStatusPage(status, Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Orders retrieved successfully", orders, pageSize, OrderDTO::getId));
+        }
         List<OrderDTO> orders = orderService.getOrdersByStatus(status);
-        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
+        return ResponseEntity.ok(view.list("Orders retrieved successfully", orders));
     }
 
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<ApiResponse<List<OrderDTO>>> getOrdersByUserIdAndStatus(
             @PathVariable Long userId,
-            @PathVariable OrderStatus status) {
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<OrderDTO> view = ListView.of(OrderDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<OrderDTO> orders = orderService.getOrdersByUserIdAndStatusPage(userId, status, Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Orders retrieved successfully", orders, pageSize, OrderDTO::getId));
+        }
         List<OrderDTO> orders = orderService.getOrdersByUserIdAndStatus(userId, status);
-        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
+        return ResponseEntity.ok(view.list("Orders retrieved successfully", orders));
     }
 
+    // Orders taken by write-behind intake have no id until they are written; the client
+    // gets an intake id to poll instead
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderDTO>> createOrder(@Valid @RequestBody OrderDTO orderDTO) {
+    public ResponseEntity<ApiResponse<?>> createOrder(@Valid @RequestBody OrderDTO orderDTO) {
+        OrderIntakeDTO intake = orderService.acceptOrder(orderDTO);
+        if (intake != null) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/orders/intake/" + intake.getIntakeId()))
+                    .body(ApiResponse.success("Order accepted for processing", intake));
+        }
         OrderDTO createdOrder = orderService.createOrder(orderDTO);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Order created successfully", createdOrder));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<OrderDTO>>> createOrders(@Valid @RequestBody BatchOrderDTO batchOrderDTO) {
+        List<OrderDTO> createdOrders = orderService.createOrders(batchOrderDTO);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Orders created successfully", createdOrders));
+    }
+
+    // Queues the changes and returns a job to poll; 503 when the queue has no room for them
+    @PostMapping("/status/bulk")
+    public ResponseEntity<ApiResponse<BulkStatusJobDTO>> updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateDTO bulkStatusUpdateDTO) {
+        BulkStatusJobDTO job = orderStatusPipeline.submit(bulkStatusUpdateDTO.getOrderIds(), bulkStatusUpdateDTO.getStatus());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/orders/status/bulk/" + job.getJobId()))
+                .body(ApiResponse.success("Order status changes queued", job));
+    }
+
+    @GetMapping("/intake/{intakeId}")
+    public ResponseEntity<ApiResponse<OrderIntakeDTO>> getOrderIntake(@PathVariable Long intakeId) {
+        OrderIntakeDTO intake = orderService.getOrderIntake(intakeId);
+        return ResponseEntity.ok(ApiResponse.success("Order intake retrieved successfully", intake));
+    }
+
+    @GetMapping("/status/bulk/{jobId}")
+    public ResponseEntity<ApiResponse<BulkStatusJobDTO>> getBulkStatusJob(@PathVariable String jobId) {
+        BulkStatusJobDTO job = orderStatusPipeline.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Job retrieved successfully", job));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<OrderDTO>> updateOrderStatus(
             @PathVariable Long id,
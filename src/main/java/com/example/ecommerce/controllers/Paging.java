@@ -0,0 +1,26 @@
+package com.example.ecommerce.controllers;
+
+// Normalizes the ?after=&limit= keyset paging parameters shared by the list endpoints
+final class Paging {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private Paging() {
+    }
+
+    static boolean requested(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    static long after(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.ecommerce.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,13 +16,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.ecommerce.dto.ApiResponse;
+import com.example.ecommerce.dto.CacheStatsDTO;
 import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.ProductImportFormat;
+import com.example.ecommerce.dto.ProductImportResultDTO;
+import com.example.ecommerce.dto.ProductSortOrder;
+import com.example.ecommerce.dto.ProductSuggestionDTO;
+import com.example.ecommerce.dto.StockShardsDTO;
+import com.example.ecommerce.dto.StockSyncDTO;
+import com.example.ecommerce.dto.StockSyncResultDTO;
+import com.example.ecommerce.services.ProductImportService;
+import com.example.ecommerce.services.ProductNameSuggester;
 import com.example.ecommerce.services.ProductService;
+import com.example.ecommerce.services.StockReservationService;
+import com.example.ecommerce.services.StockSyncService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,11 +47,39 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final StockSyncService stockSyncService;
+    private final StockReservationService stockReservationService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getAllProducts() {
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<ProductDTO> view = ListView.of(ProductDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<ProductDTO> products = productService.getProductsPage(Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Products retrieved successfully", products, pageSize, ProductDTO::getId));
+        }
         List<ProductDTO> products = productService.getAllProducts();
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        return ResponseEntity.ok(view.list("Products retrieved successfully", products));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = productService::exportProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"")
+                .body(body);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> getCatalogCacheStats() {
+        CacheStatsDTO stats = productService.getCatalogCacheStats();
+        return ResponseEntity.ok(ApiResponse.success("Catalog cache statistics retrieved successfully", stats));
     }
 
     @GetMapping("/{id}")
@@ -43,21 +89,70 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> searchProducts(@RequestParam String name) {
-        List<ProductDTO> products = productService.searchProductsByName(name);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> searchProducts(
+            @RequestParam String name,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<ProductDTO> view = ListView.of(ProductDTO.FIELDS, fields, compact);
+        List<ProductDTO> products = productService.searchProducts(name, Paging.limit(limit));
+        return ResponseEntity.ok(view.list("Products retrieved successfully", products));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<ProductSuggestionDTO>>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestionDTO> suggestions = productService.suggestProducts(q, Math.max(1, Math.min(limit, ProductNameSuggester.MAX_SUGGESTIONS)));
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> filterProducts(
+            @RequestParam(required = false) BigDecimal minCost,
+            @RequestParam(required = false) BigDecimal maxCost,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "PRICE_ASC") ProductSortOrder sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<ProductDTO> view = ListView.of(ProductDTO.FIELDS, fields, compact);
+        List<ProductDTO> products = productService.filterProducts(minCost, maxCost, inStock, name, sort, Paging.limit(limit));
+        return ResponseEntity.ok(view.list("Products retrieved successfully", products));
     }
 
     @GetMapping("/max-cost")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByMaxCost(@RequestParam BigDecimal maxCost) {
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByMaxCost(
+            @RequestParam BigDecimal maxCost,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<ProductDTO> view = ListView.of(ProductDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<ProductDTO> products = productService.getProductsByMaxCostPage(maxCost, Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Products retrieved successfully", products, pageSize, ProductDTO::getId));
+        }
         List<ProductDTO> products = productService.getProductsByMaxCost(maxCost);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        return ResponseEntity.ok(view.list("Products retrieved successfully", products));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getAvailableProducts() {
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> getAvailableProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        ListView<ProductDTO> view = ListView.of(ProductDTO.FIELDS, fields, compact);
+        if (Paging.requested(after, limit)) {
+            int pageSize = Paging.limit(limit);
+            List<ProductDTO> products = productService.getAvailableProductsPage(Paging.after(after), pageSize);
+            return ResponseEntity.ok(view.page("Available products retrieved successfully", products, pageSize, ProductDTO::getId));
+        }
         List<ProductDTO> products = productService.getAvailableProducts();
-        return ResponseEntity.ok(ApiResponse.success("Available products retrieved successfully", products));
+        return ResponseEntity.ok(view.list("Available products retrieved successfully", products));
     }
 
     @PostMapping
@@ -68,6 +163,18 @@ public class ProductController {
                 .body(ApiResponse.success("Product created successfully", createdProduct));
     }
 
+    // Streams NDJSON or CSV (with a header row); row errors are reported, not thrown
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<ApiResponse<ProductImportResultDTO>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        ProductImportFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ProductImportFormat.NDJSON
+                : ProductImportFormat.CSV;
+        ProductImportResultDTO result = productImportService.importProducts(body, format);
+        return ResponseEntity.ok(ApiResponse.success("Products imported successfully", result));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductDTO>> updateProduct(
             @PathVariable Long id,
@@ -84,6 +191,34 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product quantity updated successfully", updatedProduct));
     }
 
+    @PatchMapping("/stock")
+    public ResponseEntity<ApiResponse<StockSyncResultDTO>> syncStock(@Valid @RequestBody StockSyncDTO stockSyncDTO) {
+        StockSyncResultDTO result = stockSyncService.sync(stockSyncDTO.getItems());
+        return ResponseEntity.ok(ApiResponse.success("Stock levels updated successfully", result));
+    }
+
+    // Splits a flash-sale product's stock over several rows so concurrent orders don't queue
+    // on one; the reported quantity trails the shard total by up to the fold interval
+    @PutMapping("/{id}/stock/shards")
+    public ResponseEntity<ApiResponse<StockShardsDTO>> shardStock(
+            @PathVariable Long id,
+            @RequestParam int count) {
+        StockShardsDTO shards = stockReservationService.shardStock(id, count);
+        return ResponseEntity.ok(ApiResponse.success("Product stock sharded successfully", shards));
+    }
+
+    @GetMapping("/{id}/stock/shards")
+    public ResponseEntity<ApiResponse<StockShardsDTO>> getStockShards(@PathVariable Long id) {
+        StockShardsDTO shards = stockReservationService.getStockShards(id);
+        return ResponseEntity.ok(ApiResponse.success("Stock shards retrieved successfully", shards));
+    }
+
+    @DeleteMapping("/{id}/stock/shards")
+    public ResponseEntity<ApiResponse<StockShardsDTO>> unshardStock(@PathVariable Long id) {
+        StockShardsDTO shards = stockReservationService.unshardStock(id);
+        return ResponseEntity.ok(ApiResponse.success("Product stock unsharded successfully", shards));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
@@ -0,0 +1,37 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminStatsDTO {
+    
+    private long totalProducts;
+    
+    private long lowStockProducts;
+    
+    private long totalOrders;
+    
+    private Map<OrderStatus, Long> ordersByStatus;
+    
+    // Revenue excludes cancelled orders
+    private BigDecimal totalRevenue;
+    
+    private Map<OrderStatus, BigDecimal> revenueByStatus;
+    
+    private Map<LocalDate, BigDecimal> dailyRevenue;
+    
+    private long totalUsers;
+    
+    private Map<Role, Long> usersByRole;
+}
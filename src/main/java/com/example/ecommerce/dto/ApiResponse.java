@@ -1,6 +1,10 @@
 package com.example.ecommerce.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,10 +16,24 @@ import lombok.NoArgsConstructor;
 public class ApiResponse<T> {
     
     private boolean success;
+    
+    // Message and timestamp are left out of compact responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String message;
+    
     private T data;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalDateTime timestamp;
     
+    // Id to pass as ?after= for the next page; absent on the last page and on unpaged responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long nextCursor;
+    
+    public ApiResponse(boolean success, String message, T data, LocalDateTime timestamp) {
+        this(success, message, data, timestamp, null);
+    }
+    
     public static <T> ApiResponse<T> success(String message, T data) {
         return new ApiResponse<>(true, message, data, LocalDateTime.now());
     }
@@ -24,7 +42,25 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, "Operation successful", data, LocalDateTime.now());
     }
     
+    public static <T> ApiResponse<List<T>> page(String message, List<T> data, int limit, Function<T, Long> idExtractor) {
+        return new ApiResponse<>(true, message, data, LocalDateTime.now(), nextCursor(data, limit, idExtractor));
+    }
+    
+    // Just the success flag and data, for list views that never show the message
+    public static <T> ApiResponse<T> compact(T data) {
+        return new ApiResponse<>(true, null, data, null);
+    }
+    
+    public static <T> ApiResponse<List<T>> compactPage(List<T> data, int limit, Function<T, Long> idExtractor) {
+        return new ApiResponse<>(true, null, data, null, nextCursor(data, limit, idExtractor));
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, message, null, LocalDateTime.now());
     }
+    
+    // A full page may have more rows behind it; a short page is the last one
+    private static <T> Long nextCursor(List<T> data, int limit, Function<T, Long> idExtractor) {
+        return data.size() == limit ? idExtractor.apply(data.get(data.size() - 1)) : null;
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderDTO {
+    
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    
+    @NotEmpty(message = "At least one order line is required")
+    private List<@Valid OrderLineDTO> items;
+}
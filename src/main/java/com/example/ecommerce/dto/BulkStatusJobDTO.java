@@ -0,0 +1,39 @@
+package com.example.ecommerce.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.ecommerce.models.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusJobDTO {
+    
+    private String jobId;
+    
+    private OrderStatus status;
+    
+    // Distinct order ids in the submission
+    private int requested;
+    
+    private int updated;
+    
+    // Orders that already had the requested status
+    private int unchanged;
+    
+    private List<Long> notFound = new ArrayList<>();
+    
+    private List<Long> failed = new ArrayList<>();
+    
+    private boolean completed;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+import com.example.ecommerce.models.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateDTO {
+    
+    @NotNull(message = "Order status is required")
+    private OrderStatus status;
+    
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 5000, message = "At most 5000 orders can be submitted at once")
+    private List<@NotNull Long> orderIds;
+}
@@ -0,0 +1,23 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    
+    private long hits;
+    
+    private long misses;
+    
+    private long evictions;
+    
+    private long invalidations;
+    
+    private int size;
+    
+    private double hitRate;
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConflictMetricsDTO {
+    
+    // Service method, e.g. ProductService.updateProduct
+    private String operation;
+    
+    // Attempts that lost an optimistic version check
+    private long conflicts;
+    
+    private long retries;
+    
+    // Calls that were still conflicting after the last attempt
+    private long exhausted;
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointMetricsDTO {
+    
+    // Controller method, e.g. OrderController.getAllOrders
+    private String handler;
+    
+    // HTTP method and path pattern, e.g. GET /api/orders/{id}
+    private String route;
+    
+    private LatencySummaryDTO latency;
+    
+    // Time spent executing JDBC statements per request
+    private LatencySummaryDTO jdbc;
+    
+    private double meanStatements;
+    
+    private long p99Statements;
+    
+    private long maxStatements;
+}
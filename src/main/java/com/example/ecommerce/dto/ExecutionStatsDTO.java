@@ -0,0 +1,31 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionStatsDTO {
+    
+    private boolean virtualThreads;
+    
+    private int connectionPermits;
+    
+    private int permitsInUse;
+    
+    private int waiting;
+    
+    private long admitted;
+    
+    private long timedOut;
+    
+    private double averageQueueMillis;
+    
+    private double maxQueueMillis;
+    
+    private long pinnedEvents;
+    
+    private double pinnedMillis;
+}
@@ -0,0 +1,162 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.example.ecommerce.exceptions.UnknownFieldException;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+// Serializes a DTO with only the fields a client asked for in ?fields=. A DTO declares its
+// fields once; the writer for each distinct selection is built on first use and cached with
+// its property names pre-encoded, so a request costs a lookup instead of bean introspection.
+public final class FieldSelector<T> {
+
+    @FunctionalInterface
+    private interface FieldWriter<T> {
+        void write(JsonGenerator generator, T row);
+    }
+
+    private record Field<T>(SerializedString name, FieldWriter<T> writer) {
+    }
+
+    // In declaration order, which is also the order selected fields are written in
+    private final Map<String, Integer> indexes = new LinkedHashMap<>();
+    private final List<Field<T>> fields = new ArrayList<>();
+    // Keyed by the bitmask of selected field indexes
+    private final Map<Long, Selection<T>> selections = new ConcurrentHashMap<>();
+
+    public FieldSelector<T> number(String name, Function<T, ? extends Number> getter) {
+        return field(name, (generator, row) -> {
+            Number value = getter.apply(row);
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof BigDecimal decimal) {
+                generator.writeNumber(decimal);
+            } else {
+                generator.writeNumber(value.longValue());
+            }
+        });
+    }
+
+    public FieldSelector<T> string(String name, Function<T, String> getter) {
+        return field(name, (generator, row) -> generator.writeString(getter.apply(row)));
+    }
+
+    // Dates, enums and anything else the mapper knows how to write
+    public FieldSelector<T> value(String name, Function<T, ?> getter) {
+        return field(name, (generator, row) -> generator.writePOJO(getter.apply(row)));
+    }
+
+    // Comma-separated field names; null when none are given, meaning every field
+    public Selection<T> select(String names) {
+        if (names == null || names.isBlank()) {
+            return null;
+        }
+        long mask = 0;
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Integer index = indexes.get(trimmed);
+            if (index == null) {
+                throw new UnknownFieldException("Unknown field '" + trimmed + "'. Available fields: " + String.join(", ", indexes.keySet()));
+            }
+            mask |= 1L << index;
+        }
+        return mask == 0 ? null : selections.computeIfAbsent(mask, this::build);
+    }
+
+    private FieldSelector<T> field(String name, FieldWriter<T> writer) {
+        if (fields.size() == Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " selectable fields");
+        }
+        indexes.put(name, fields.size());
+        fields.add(new Field<>(new SerializedString(name), writer));
+        return this;
+    }
+
+    private Selection<T> build(long mask) {
+        List<Field<T>> selected = new ArrayList<>(Long.bitCount(mask));
+        for (int index = 0; index < fields.size(); index++) {
+            if ((mask & (1L << index)) != 0) {
+                selected.add(fields.get(index));
+            }
+        }
+        return new Selection<>(selected);
+    }
+
+    public static final class Selection<T> {
+
+        private final List<Field<T>> fields;
+
+        private Selection(List<Field<T>> fields) {
+            this.fields = List.copyOf(fields);
+        }
+
+        // A view of the rows that serializes with only the selected fields
+        public List<T> apply(List<T> rows) {
+            return new SelectedList<>(rows, this);
+        }
+
+        private void write(JsonGenerator generator, T row) {
+            generator.writeStartObject(row);
+            for (Field<T> field : fields) {
+                generator.writeName(field.name());
+                field.writer().write(generator, row);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    @JsonSerialize(using = SelectedListSerializer.class)
+    static final class SelectedList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final List<T> rows;
+        private final Selection<T> selection;
+
+        private SelectedList(List<T> rows, Selection<T> selection) {
+            this.rows = rows;
+            this.selection = selection;
+        }
+
+        @Override
+        public T get(int index) {
+            return rows.get(index);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    // Instantiated by Jackson through the annotation above
+    static final class SelectedListSerializer extends ValueSerializer<SelectedList<?>> {
+
+        @Override
+        public void serialize(SelectedList<?> list, JsonGenerator generator, SerializationContext context) {
+            writeRows(list, generator);
+        }
+
+        private static <T> void writeRows(SelectedList<T> list, JsonGenerator generator) {
+            generator.writeStartArray(list, list.size());
+            for (T row : list.rows) {
+                list.selection.write(generator, row);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencySummaryDTO {
+    
+    private long count;
+    
+    private double meanMillis;
+    
+    private double p50Millis;
+    
+    private double p90Millis;
+    
+    private double p99Millis;
+    
+    private double p999Millis;
+    
+    private double maxMillis;
+}
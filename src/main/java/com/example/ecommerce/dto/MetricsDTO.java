@@ -0,0 +1,32 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsDTO {
+    
+    private List<EndpointMetricsDTO> endpoints;
+    
+    private LatencySummaryDTO transactions;
+    
+    // Time spent waiting for a pooled connection
+    private LatencySummaryDTO connectionWait;
+    
+    // Time connections were held before being returned to the pool
+    private LatencySummaryDTO connectionUsage;
+    
+    private long connectionTimeouts;
+    
+    private long statements;
+    
+    private double jdbcMillis;
+    
+    // Optimistic-lock conflicts per service operation
+    private List<ConflictMetricsDTO> conflicts;
+}
@@ -15,6 +15,17 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class OrderDTO {
     
+    // Fields a list endpoint's ?fields= can select
+    public static final FieldSelector<OrderDTO> FIELDS = new FieldSelector<OrderDTO>()
+            .number("id", OrderDTO::getId)
+            .number("userId", OrderDTO::getUserId)
+            .number("productId", OrderDTO::getProductId)
+            .value("orderStatus", OrderDTO::getOrderStatus)
+            .number("quantity", OrderDTO::getQuantity)
+            .value("createdAt", OrderDTO::getCreatedAt)
+            .string("userName", OrderDTO::getUserName)
+            .string("productName", OrderDTO::getProductName);
+    
     private Long id;
     
     @NotNull(message = "User ID is required")
@@ -0,0 +1,24 @@
+package com.example.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeDTO {
+    
+    private Long intakeId;
+    private OrderIntakeStatus status;
+    
+    // Set once the order has been written
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long orderId;
+    
+    // Why the order could not be created
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reason;
+}
@@ -0,0 +1,8 @@
+package com.example.ecommerce.dto;
+
+// Where an order taken by write-behind intake stands
+public enum OrderIntakeStatus {
+    QUEUED,
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.ecommerce.models.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRevenueDTO {
+    
+    private LocalDateTime createdAt;
+    
+    private OrderStatus orderStatus;
+    
+    private BigDecimal revenue;
+}
@@ -0,0 +1,21 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+import com.example.ecommerce.models.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusSummaryDTO {
+    
+    private OrderStatus orderStatus;
+    
+    private Long orderCount;
+    
+    private BigDecimal revenue;
+}
@@ -2,9 +2,11 @@ package com.example.ecommerce.dto;
 
 import java.math.BigDecimal;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,9 +16,20 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ProductDTO {
     
+    // Fields a list endpoint's ?fields= can select
+    public static final FieldSelector<ProductDTO> FIELDS = new FieldSelector<ProductDTO>()
+            .number("id", ProductDTO::getId)
+            .string("productName", ProductDTO::getProductName)
+            .number("quantity", ProductDTO::getQuantity)
+            .number("cost", ProductDTO::getCost)
+            .string("productDesc", ProductDTO::getProductDesc)
+            .string("productUrl", ProductDTO::getProductUrl);
+    
     private Long id;
     
+    // Limits match the products columns, so a row that validates also fits the table
     @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name cannot exceed 255 characters")
     private String productName;
     
     @NotNull(message = "Quantity is required")
@@ -25,9 +38,12 @@ public class ProductDTO {
     
     @NotNull(message = "Cost is required")
     @Min(value = 0, message = "Cost cannot be negative")
+    @Digits(integer = 8, fraction = 2, message = "Cost must have at most 8 digits and 2 decimal places")
     private BigDecimal cost;
     
+    @Size(max = 1000, message = "Product description cannot exceed 1000 characters")
     private String productDesc;
     
+    @Size(max = 500, message = "Product URL cannot exceed 500 characters")
     private String productUrl;
 }
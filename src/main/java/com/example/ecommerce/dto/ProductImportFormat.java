@@ -0,0 +1,6 @@
+package com.example.ecommerce.dto;
+
+public enum ProductImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,27 @@
+package com.example.ecommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+    
+    private long rows;
+    
+    private long created;
+    
+    private long updated;
+    
+    private long failed;
+    
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+    
+    // True when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+}
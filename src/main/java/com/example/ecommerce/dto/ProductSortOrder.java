@@ -0,0 +1,6 @@
+package com.example.ecommerce.dto;
+
+public enum ProductSortOrder {
+    PRICE_ASC,
+    PRICE_DESC
+}
@@ -0,0 +1,32 @@
+package com.example.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentDTO {
+    
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+    
+    // Absolute stock level
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private Integer quantity;
+    
+    // Change relative to the current stock level
+    private Integer delta;
+    
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of quantity or delta is required")
+    public boolean isQuantityOrDelta() {
+        return (quantity == null) != (delta == null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockShardsDTO {
+    
+    private Long productId;
+    
+    // Sum over the shards, or the product quantity when it is not sharded
+    private int quantity;
+    
+    // Stock held by each shard; empty when the product is not sharded
+    private List<Integer> shards = new ArrayList<>();
+}
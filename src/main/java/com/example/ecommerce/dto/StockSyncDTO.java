@@ -0,0 +1,18 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSyncDTO {
+    
+    @NotEmpty(message = "At least one stock adjustment is required")
+    private List<@Valid StockAdjustmentDTO> items;
+}
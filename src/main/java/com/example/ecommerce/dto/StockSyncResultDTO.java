@@ -0,0 +1,23 @@
+package com.example.ecommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSyncResultDTO {
+    
+    private int updated;
+    
+    private int unchanged;
+    
+    private List<Long> notFound = new ArrayList<>();
+    
+    // Products left unchanged because a delta would have taken stock below zero
+    private List<Long> rejected = new ArrayList<>();
+}
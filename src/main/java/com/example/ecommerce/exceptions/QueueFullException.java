@@ -0,0 +1,16 @@
+package com.example.ecommerce.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class QueueFullException extends RuntimeException {
+    
+    public QueueFullException(String message) {
+        super(message);
+    }
+    
+    public QueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
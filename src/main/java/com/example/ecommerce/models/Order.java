@@ -1,9 +1,8 @@
 package com.example.ecommerce.models;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.CreationTimestamp;
-
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,7 +13,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,7 +30,9 @@ import lombok.NoArgsConstructor;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_ids")
+    @TableGenerator(name = "order_ids", table = "id_blocks", pkColumnName = "table_name",
+            valueColumnName = "last_id", pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "User is required")
@@ -45,10 +49,29 @@ public class Order {
     @Column(name = "order_status", nullable = false)
     private OrderStatus orderStatus = OrderStatus.PENDING;
 
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity = 1;
+
+    // Product cost when the order was placed; revenue is always taken from this
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    // Journal sequence for orders taken through write-behind intake; makes replay idempotent
+    @Column(name = "intake_seq", unique = true)
+    private Long intakeSeq;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Write-behind orders keep the time they were accepted, not the time they were flushed
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -12,6 +12,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -27,7 +29,9 @@ import lombok.NoArgsConstructor;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_ids")
+    @TableGenerator(name = "product_ids", table = "id_blocks", pkColumnName = "table_name",
+            valueColumnName = "last_id", pkColumnValue = "products", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -50,6 +54,16 @@ public class Product {
     @Column(name = "product_url", length = 500)
     private String productUrl;
 
+    // Number of stock shards, 0 when the stock lives in quantity itself. Only changed
+    // through ProductStockShardRepository; while sharded, quantity trails the shard total.
+    @Column(name = "stock_shards", nullable = false, insertable = false, updatable = false)
+    private int stockShards;
+
+    // Checked on every entity update; bulk stock updates bump it as well
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Order> orders;
 }
@@ -0,0 +1,65 @@
+package com.example.ecommerce.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.models.OrderHistory;
+import com.example.ecommerce.models.OrderStatus;
+
+@Repository
+public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
+    
+    String ORDER_DTO_SELECT = "SELECT new com.example.ecommerce.dto.OrderDTO("
+            + "h.id, h.userId, h.productId, h.orderStatus, h.quantity, h.createdAt, h.userName, h.productName) "
+            + "FROM OrderHistory h ";
+    
+    // Every listing is in order id order, the same as the keyset pages below and the
+    // other order listings
+    @Query(ORDER_DTO_SELECT + "WHERE h.userId = :userId ORDER BY h.id")
+    List<OrderDTO> findOrderDTOsByUserId(@Param("userId") Long userId);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE h.userId = :userId AND h.orderStatus = :orderStatus ORDER BY h.id")
+    List<OrderDTO> findOrderDTOsByUserIdAndOrderStatus(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE h.userId = :userId AND h.id > :after ORDER BY h.id")
+    List<OrderDTO> findOrderDTOsByUserIdAfter(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE h.userId = :userId AND h.orderStatus = :orderStatus AND h.id > :after ORDER BY h.id")
+    List<OrderDTO> findOrderDTOsByUserIdAndOrderStatusAfter(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus, @Param("after") Long after, Limit limit);
+    
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.orderStatus = :orderStatus WHERE h.id = :id")
+    int updateOrderStatus(@Param("id") Long id, @Param("orderStatus") OrderStatus orderStatus);
+    
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.orderStatus = :orderStatus WHERE h.id IN :ids")
+    int updateOrderStatuses(@Param("ids") Collection<Long> ids, @Param("orderStatus") OrderStatus orderStatus);
+    
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.userName = :userName WHERE h.userId = :userId AND h.userName <> :userName")
+    int updateUserName(@Param("userId") Long userId, @Param("userName") String userName);
+    
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.productName = :productName WHERE h.productId = :productId AND h.productName <> :productName")
+    int updateProductName(@Param("productId") Long productId, @Param("productName") String productName);
+    
+    @Modifying
+    @Query("DELETE FROM OrderHistory h WHERE h.id = :id")
+    int deleteByOrderId(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM OrderHistory h WHERE h.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM OrderHistory h WHERE h.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,46 @@
+package com.example.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+// Write-behind intake entries that could not be turned into orders, keyed by journal sequence
+@Repository
+@RequiredArgsConstructor
+public class OrderIntakeFailureRepository {
+
+    private static final int MAX_REASON_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void insert(long intakeSeq, long userId, long productId, int quantity, LocalDateTime createdAt, String reason) {
+        String truncated = reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+        jdbcTemplate.update(
+                "INSERT INTO order_intake_failures (intake_seq, user_id, product_id, quantity, created_at, reason, failed_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                intakeSeq, userId, productId, quantity, createdAt, truncated, LocalDateTime.now());
+    }
+
+    public Set<Long> findIntakeSeqsIn(Collection<Long> intakeSeqs) {
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT intake_seq FROM order_intake_failures WHERE intake_seq IN (:seqs)",
+                new MapSqlParameterSource("seqs", intakeSeqs), Long.class));
+    }
+
+    public Optional<String> findReason(long intakeSeq) {
+        List<String> reasons = jdbcTemplate.queryForList(
+                "SELECT reason FROM order_intake_failures WHERE intake_seq = ?", String.class, intakeSeq);
+        return reasons.stream().findFirst();
+    }
+}
@@ -1,16 +1,36 @@
 package com.example.ecommerce.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.OrderRevenueDTO;
+import com.example.ecommerce.dto.OrderStatusSummaryDTO;
 import com.example.ecommerce.models.Order;
 import com.example.ecommerce.models.OrderStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
+    // Builds OrderDTOs in a single join instead of lazily loading user and product per row
+    String ORDER_DTO_SELECT = "SELECT new com.example.ecommerce.dto.OrderDTO("
+            + "o.id, u.id, p.id, o.orderStatus, o.quantity, o.createdAt, u.name, p.productName) "
+            + "FROM Order o JOIN o.user u JOIN o.product p ";
+    
     List<Order> findByUserId(Long userId);
     
     List<Order> findByProductId(Long productId);
@@ -18,4 +38,55 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByOrderStatus(OrderStatus orderStatus);
     
     List<Order> findByUserIdAndOrderStatus(Long userId, OrderStatus orderStatus);
+    
+    @Query(ORDER_DTO_SELECT + "ORDER BY o.id")
+    List<OrderDTO> findAllOrderDTOs();
+    
+    // Rows are fetched from the driver in chunks; the caller must consume the stream inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ORDER_DTO_SELECT + "ORDER BY o.id")
+    Stream<OrderDTO> streamAllOrderDTOs();
+    
+    @Query(ORDER_DTO_SELECT + "WHERE o.id = :id")
+    Optional<OrderDTO> findOrderDTOById(@Param("id") Long id);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByUserId(@Param("userId") Long userId);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE o.orderStatus = :orderStatus ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByOrderStatus(@Param("orderStatus") OrderStatus orderStatus);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId AND o.orderStatus = :orderStatus ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByUserIdAndOrderStatus(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus);
+    
+    // Keyset pages: orders after the given id, in id order
+    @Query(ORDER_DTO_SELECT + "WHERE o.id > :after ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId AND o.id > :after ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByUserIdAfter(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE o.orderStatus = :orderStatus AND o.id > :after ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByOrderStatusAfter(@Param("orderStatus") OrderStatus orderStatus, @Param("after") Long after, Limit limit);
+    
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId AND o.orderStatus = :orderStatus AND o.id > :after ORDER BY o.id")
+    List<OrderDTO> findOrderDTOsByUserIdAndOrderStatusAfter(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus, @Param("after") Long after, Limit limit);
+    
+    @Query("SELECT new com.example.ecommerce.dto.OrderStatusSummaryDTO(o.orderStatus, COUNT(o), COALESCE(SUM(o.quantity * o.unitPrice), 0)) "
+            + "FROM Order o GROUP BY o.orderStatus")
+    List<OrderStatusSummaryDTO> summarizeByOrderStatus();
+    
+    @Query("SELECT new com.example.ecommerce.dto.OrderRevenueDTO(o.createdAt, o.orderStatus, o.quantity * o.unitPrice) "
+            + "FROM Order o WHERE o.createdAt >= :since")
+    List<OrderRevenueDTO> findRevenueSince(@Param("since") LocalDateTime since);
+    
+    // Product costs are needed for revenue, so they come back in the same query
+    @Query("SELECT o FROM Order o JOIN FETCH o.product WHERE o.id IN :ids")
+    List<Order> findWithProductByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT o.intakeSeq FROM Order o WHERE o.intakeSeq IN :intakeSeqs")
+    Set<Long> findIntakeSeqsIn(@Param("intakeSeqs") Collection<Long> intakeSeqs);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.intakeSeq = :intakeSeq")
+    Optional<Long> findIdByIntakeSeq(@Param("intakeSeq") Long intakeSeq);
 }
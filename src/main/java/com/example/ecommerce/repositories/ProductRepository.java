@@ -2,18 +2,50 @@ package com.example.ecommerce.repositories;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.ecommerce.dto.ProductDTO;
 import com.example.ecommerce.models.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
-    List<Product> findByProductNameContainingIgnoreCase(String productName);
-    
     List<Product> findByCostLessThanEqual(BigDecimal maxCost);
     
     List<Product> findByQuantityGreaterThan(Integer quantity);
+    
+    // Keyset pages: rows after the given id, in id order
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    List<Product> findByCostLessThanEqualAndIdGreaterThanOrderByIdAsc(BigDecimal maxCost, Long id, Limit limit);
+    
+    List<Product> findByQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(Integer quantity, Long id, Limit limit);
+    
+    // Rows are fetched from the driver in chunks; the caller must consume the stream inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.ecommerce.dto.ProductDTO(p.id, p.productName, p.quantity, p.cost, p.productDesc, p.productUrl) "
+            + "FROM Product p ORDER BY p.id")
+    Stream<ProductDTO> streamAllProductDTOs();
+    
+    // Conditional decrement: returns 0 when the product is missing, has too little stock or
+    // keeps its stock in shards
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.quantity >= :quantity AND p.stockShards = 0")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.version = p.version + 1 WHERE p.id = :id AND p.stockShards = 0")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,44 @@
+package com.example.ecommerce.repositories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+// Set-based stock writes that go around the persistence context; callers must keep the
+// in-memory stock state in step
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // Current quantities, with the rows locked until the transaction ends
+    public Map<Long, Integer> lockQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>(productIds.size() * 2);
+        namedParameterJdbcTemplate.query(
+                "SELECT id, quantity FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", productIds),
+                rs -> {
+                    quantities.put(rs.getLong(1), rs.getInt(2));
+                });
+        return quantities;
+    }
+
+    // One batched statement for all rows
+    public void updateQuantities(Map<Long, Integer> quantities) {
+        List<Object[]> rows = quantities.entrySet()
+                .stream()
+                .map(entry -> new Object[] { entry.getValue(), entry.getKey() })
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE products SET quantity = ?, version = version + 1 WHERE id = ?", rows);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.ecommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+// Stock shard rows for hot products. Shards are numbered from 0; every method that returns
+// shard quantities returns them as an array indexed by shard, empty for unsharded products.
+@Repository
+@RequiredArgsConstructor
+public class ProductStockShardRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Map<Long, Integer> findShardCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock_shards FROM products WHERE stock_shards > 0",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getInt(2));
+                });
+        return counts;
+    }
+
+    // A plain read; the values may be stale by the time a shard is written
+    public int[] findQuantities(Long productId) {
+        return toArray(jdbcTemplate.queryForList(
+                "SELECT quantity FROM product_stock_shards WHERE product_id = ? ORDER BY shard", Integer.class, productId));
+    }
+
+    // Locked until the transaction ends; callers lock the product row first
+    public int[] lockQuantities(Long productId) {
+        return toArray(jdbcTemplate.queryForList(
+                "SELECT quantity FROM product_stock_shards WHERE product_id = ? ORDER BY shard FOR UPDATE", Integer.class, productId));
+    }
+
+    // Only sharded products appear in the result
+    public Map<Long, int[]> lockQuantities(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<Integer>> rows = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT product_id, quantity FROM product_stock_shards WHERE product_id IN (:ids) ORDER BY product_id, shard FOR UPDATE",
+                new MapSqlParameterSource("ids", productIds),
+                rs -> {
+                    rows.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getInt(2));
+                });
+        Map<Long, int[]> quantities = new HashMap<>(rows.size() * 2);
+        rows.forEach((productId, shardQuantities) -> quantities.put(productId, toArray(shardQuantities)));
+        return quantities;
+    }
+
+    public Map<Long, Integer> sumQuantities(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> totals = new HashMap<>(productIds.size() * 2);
+        namedParameterJdbcTemplate.query(
+                "SELECT product_id, SUM(quantity) FROM product_stock_shards WHERE product_id IN (:ids) GROUP BY product_id",
+                new MapSqlParameterSource("ids", productIds),
+                rs -> {
+                    totals.put(rs.getLong(1), rs.getInt(2));
+                });
+        return totals;
+    }
+
+    // Conditional decrement of one shard: false when it is missing or has too little stock
+    public boolean take(Long productId, int shard, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE product_stock_shards SET quantity = quantity - ? WHERE product_id = ? AND shard = ? AND quantity >= ?",
+                quantity, productId, shard, quantity) > 0;
+    }
+
+    public boolean give(Long productId, int shard, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE product_stock_shards SET quantity = quantity + ? WHERE product_id = ? AND shard = ?",
+                quantity, productId, shard) > 0;
+    }
+
+    public void updateQuantities(Long productId, int[] quantities) {
+        List<Object[]> rows = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            rows.add(new Object[] { quantities[shard], productId, shard });
+        }
+        jdbcTemplate.batchUpdate("UPDATE product_stock_shards SET quantity = ? WHERE product_id = ? AND shard = ?", rows);
+    }
+
+    // Swaps the product's shards for the given ones (none to unshard) and sets its quantity
+    // to their total
+    public void replaceShards(Long productId, int[] quantities, int total) {
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+        List<Object[]> rows = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            rows.add(new Object[] { productId, shard, quantities[shard] });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_stock_shards (product_id, shard, quantity) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE products SET stock_shards = ?, quantity = ?, version = version + 1 WHERE id = ?",
+                quantities.length, total, productId);
+    }
+
+    // Writes shard totals back to products.quantity; returns the products whose quantity changed
+    public List<Long> foldQuantities(Map<Long, Integer> totals) {
+        List<Long> productIds = new ArrayList<>(totals.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE products SET quantity = ?, version = version + 1 WHERE id = ? AND stock_shards > 0 AND quantity <> ?",
+                productIds.stream()
+                        .map(productId -> new Object[] { totals.get(productId), productId, totals.get(productId) })
+                        .toList());
+        List<Long> changed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 0) {
+                changed.add(productIds.get(i));
+            }
+        }
+        return changed;
+    }
+
+    private static int[] toArray(List<Integer> quantities) {
+        return quantities.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
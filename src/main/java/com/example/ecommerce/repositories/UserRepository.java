@@ -1,10 +1,13 @@
 package com.example.ecommerce.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import com.example.ecommerce.models.Role;
 import com.example.ecommerce.models.User;
 
 @Repository
@@ -13,4 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    long countByRole(Role role);
+    
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
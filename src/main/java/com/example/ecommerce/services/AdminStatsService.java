@@ -0,0 +1,202 @@
+package com.example.ecommerce.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ecommerce.dto.AdminStatsDTO;
+import com.example.ecommerce.dto.OrderRevenueDTO;
+import com.example.ecommerce.dto.OrderStatusSummaryDTO;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.repositories.OrderRepository;
+import com.example.ecommerce.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Dashboard counters, loaded once from aggregate queries at startup and then kept
+// current by the services as their writes commit. Money is tracked in cents.
+@Service
+@RequiredArgsConstructor
+public class AdminStatsService {
+
+    private static final int REVENUE_DAYS = 7;
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ProductFilterIndex filterIndex;
+
+    private final AtomicLongArray ordersByStatus = new AtomicLongArray(OrderStatus.values().length);
+    private final AtomicLongArray revenueByStatus = new AtomicLongArray(OrderStatus.values().length);
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> dailyRevenue = new ConcurrentSkipListMap<>();
+    private final AtomicLongArray usersByRole = new AtomicLongArray(Role.values().length);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        for (OrderStatusSummaryDTO summary : orderRepository.summarizeByOrderStatus()) {
+            int index = summary.getOrderStatus().ordinal();
+            ordersByStatus.set(index, summary.getOrderCount());
+            revenueByStatus.set(index, toCents(summary.getRevenue()));
+        }
+        LocalDateTime since = LocalDate.now().minusDays(REVENUE_DAYS - 1).atStartOfDay();
+        for (OrderRevenueDTO order : orderRepository.findRevenueSince(since)) {
+            if (order.getOrderStatus() != OrderStatus.CANCELLED) {
+                addDailyRevenue(order.getCreatedAt(), toCents(order.getRevenue()));
+            }
+        }
+        for (Role role : Role.values()) {
+            usersByRole.set(role.ordinal(), userRepository.countByRole(role));
+        }
+    }
+
+    // Status and revenue are read when called, so callers record before changing the order
+    public void recordOrderCreated(Order order) {
+        OrderStatus status = order.getOrderStatus();
+        LocalDateTime createdAt = order.getCreatedAt();
+        long cents = revenueCents(order);
+        TransactionCallbacks.afterCommit(() -> {
+            ordersByStatus.incrementAndGet(status.ordinal());
+            revenueByStatus.addAndGet(status.ordinal(), cents);
+            if (status != OrderStatus.CANCELLED) {
+                addDailyRevenue(createdAt, cents);
+            }
+        });
+    }
+
+    public void recordOrderStatusChanged(Order order, OrderStatus to) {
+        OrderStatus from = order.getOrderStatus();
+        if (from == to) {
+            return;
+        }
+        LocalDateTime createdAt = order.getCreatedAt();
+        long cents = revenueCents(order);
+        TransactionCallbacks.afterCommit(() -> {
+            ordersByStatus.decrementAndGet(from.ordinal());
+            ordersByStatus.incrementAndGet(to.ordinal());
+            revenueByStatus.addAndGet(from.ordinal(), -cents);
+            revenueByStatus.addAndGet(to.ordinal(), cents);
+            if (to == OrderStatus.CANCELLED) {
+                addDailyRevenue(createdAt, -cents);
+            } else if (from == OrderStatus.CANCELLED) {
+                addDailyRevenue(createdAt, cents);
+            }
+        });
+    }
+
+    public void recordOrderDeleted(Order order) {
+        OrderStatus status = order.getOrderStatus();
+        LocalDateTime createdAt = order.getCreatedAt();
+        long cents = revenueCents(order);
+        TransactionCallbacks.afterCommit(() -> {
+            ordersByStatus.decrementAndGet(status.ordinal());
+            revenueByStatus.addAndGet(status.ordinal(), -cents);
+            if (status != OrderStatus.CANCELLED) {
+                addDailyRevenue(createdAt, -cents);
+            }
+        });
+    }
+
+    // Deleting a user or product cascades to its orders without going through OrderService,
+    // so the deleting service passes them here before the delete
+    public void recordOrdersRemoved(Collection<Order> orders) {
+        orders.forEach(this::recordOrderDeleted);
+    }
+
+    public void recordUserCreated(Role role) {
+        TransactionCallbacks.afterCommit(() -> usersByRole.incrementAndGet(role.ordinal()));
+    }
+
+    public void recordUserRoleChanged(Role from, Role to) {
+        if (from == to) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            usersByRole.decrementAndGet(from.ordinal());
+            usersByRole.incrementAndGet(to.ordinal());
+        });
+    }
+
+    public void recordUserDeleted(Role role) {
+        TransactionCallbacks.afterCommit(() -> usersByRole.decrementAndGet(role.ordinal()));
+    }
+
+    public AdminStatsDTO getStats() {
+        Map<OrderStatus, Long> orderCounts = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> statusRevenue = new EnumMap<>(OrderStatus.class);
+        long totalOrders = 0;
+        long totalRevenue = 0;
+        for (OrderStatus status : OrderStatus.values()) {
+            long count = ordersByStatus.get(status.ordinal());
+            long cents = revenueByStatus.get(status.ordinal());
+            orderCounts.put(status, count);
+            statusRevenue.put(status, fromCents(cents));
+            totalOrders += count;
+            if (status != OrderStatus.CANCELLED) {
+                totalRevenue += cents;
+            }
+        }
+
+        Map<LocalDate, BigDecimal> revenueByDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(REVENUE_DAYS - 1); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder cents = dailyRevenue.get(day);
+            revenueByDay.put(day, fromCents(cents != null ? cents.sum() : 0));
+        }
+
+        Map<Role, Long> roleCounts = new EnumMap<>(Role.class);
+        long totalUsers = 0;
+        for (Role role : Role.values()) {
+            long count = usersByRole.get(role.ordinal());
+            roleCounts.put(role, count);
+            totalUsers += count;
+        }
+
+        return new AdminStatsDTO(
+                filterIndex.size(),
+                filterIndex.countLowStock(),
+                totalOrders,
+                orderCounts,
+                fromCents(totalRevenue),
+                statusRevenue,
+                revenueByDay,
+                totalUsers,
+                roleCounts);
+    }
+
+    private void addDailyRevenue(LocalDateTime createdAt, long cents) {
+        LocalDate day = createdAt.toLocalDate();
+        if (day.isBefore(LocalDate.now().minusDays(REVENUE_DAYS - 1))) {
+            return;
+        }
+        dailyRevenue.computeIfAbsent(day, d -> new LongAdder()).add(cents);
+        // Only the trailing window is reported
+        dailyRevenue.headMap(LocalDate.now().minusDays(REVENUE_DAYS)).clear();
+    }
+
+    private static long revenueCents(Order order) {
+        return toCents(order.getUnitPrice().multiply(BigDecimal.valueOf(order.getQuantity())));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ecommerce.services;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+// One change counter per table, advanced after every committed write and used as the
+// version in ETags. Counters are in memory, so the tag also carries the start time of
+// this process to keep tags from an earlier run from matching.
+@Component
+public class ChangeCounters {
+
+    public enum Table {
+        PRODUCTS,
+        ORDERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+
+    // Advances only after the commit and the in-memory index updates, so a reader that sees
+    // the new version also sees the new data
+    public void changed(Table table) {
+        TransactionCallbacks.afterCommitCompleted(() -> versions.incrementAndGet(table.ordinal()));
+    }
+
+    public long version(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    public String etag(Table table) {
+        return "W/\"" + table.name().toLowerCase(Locale.ROOT) + "-" + epoch + "-" + version(table) + "\"";
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ecommerce.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.example.ecommerce.config.JdbcAdmissionLimiter;
+import com.example.ecommerce.config.PinnedThreadMonitor;
+import com.example.ecommerce.dto.ExecutionStatsDTO;
+
+import lombok.RequiredArgsConstructor;
+
+// Reports the virtual-thread execution mode; everything reads zero when it is off
+@Service
+@RequiredArgsConstructor
+public class ExecutionStatsService {
+
+    private final ObjectProvider<JdbcAdmissionLimiter> admissionLimiter;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+
+    public ExecutionStatsDTO getStats() {
+        ExecutionStatsDTO stats = new ExecutionStatsDTO();
+        JdbcAdmissionLimiter limiter = admissionLimiter.getIfAvailable();
+        if (limiter != null) {
+            stats.setVirtualThreads(true);
+            stats.setConnectionPermits(limiter.getMaxPermits());
+            stats.setPermitsInUse(limiter.getInUse());
+            stats.setWaiting(limiter.getWaiting());
+            stats.setAdmitted(limiter.getAdmitted());
+            stats.setTimedOut(limiter.getTimedOut());
+            stats.setAverageQueueMillis(limiter.getAverageQueueMillis());
+            stats.setMaxQueueMillis(limiter.getMaxQueueMillis());
+        }
+        PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+        if (monitor != null) {
+            stats.setPinnedEvents(monitor.getPinnedEvents());
+            stats.setPinnedMillis(monitor.getPinnedMillis());
+        }
+        return stats;
+    }
+}
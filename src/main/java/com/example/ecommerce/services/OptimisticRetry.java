@@ -0,0 +1,73 @@
+package com.example.ecommerce.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ecommerce.exceptions.ConcurrentUpdateException;
+
+// Runs a read-modify-write in its own transaction and, when the commit loses a @Version
+// check to a concurrent writer, runs it again on fresh data after a short randomized
+// backoff. Uncontended calls pay nothing beyond the version comparison in the UPDATE.
+@Component
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final RequestMetricsService requestMetricsService;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            RequestMetricsService requestMetricsService,
+            @Value("${concurrency.retry.max-attempts:4}") int maxAttempts,
+            @Value("${concurrency.retry.backoff-ms:10}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestMetricsService = requestMetricsService;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        // Inside a caller's transaction the conflict only surfaces at its commit, so it is the caller's to handle
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException ex) {
+                boolean retry = attempt < maxAttempts;
+                requestMetricsService.recordConflict(operation, retry);
+                if (!retry) {
+                    throw new ConcurrentUpdateException("The resource was modified concurrently, please retry", ex);
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Exponential with full jitter, so writers that collided do not collide again in step
+    private void backoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying a concurrent update", ex);
+        }
+    }
+}
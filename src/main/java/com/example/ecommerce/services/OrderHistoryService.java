@@ -0,0 +1,105 @@
+package com.example.ecommerce.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderHistory;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.repositories.OrderHistoryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Per-user order history read model. Writes go in the same transaction as the order
+// change they mirror, so the history never shows an order the orders table does not have.
+// Every change visible in an order listing passes through here, so each one also
+// advances the orders change counter.
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderHistoryService {
+
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final ChangeCounters changeCounters;
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByUserId(Long userId) {
+        return orderHistoryRepository.findOrderDTOsByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByUserIdAndStatus(Long userId, OrderStatus status) {
+        return orderHistoryRepository.findOrderDTOsByUserIdAndOrderStatus(userId, status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByUserIdPage(Long userId, long after, int limit) {
+        return orderHistoryRepository.findOrderDTOsByUserIdAfter(userId, after, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByUserIdAndStatusPage(Long userId, OrderStatus status, long after, int limit) {
+        return orderHistoryRepository.findOrderDTOsByUserIdAndOrderStatusAfter(userId, status, after, Limit.of(limit));
+    }
+
+    // Orders must already have their ids
+    public void recordCreated(Collection<Order> orders) {
+        orderHistoryRepository.saveAll(orders.stream().map(OrderHistoryService::toHistory).toList());
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordStatusChanged(Long orderId, OrderStatus status) {
+        orderHistoryRepository.updateOrderStatus(orderId, status);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordStatusChanged(Collection<Long> orderIds, OrderStatus status) {
+        orderHistoryRepository.updateOrderStatuses(orderIds, status);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordDeleted(Long orderId) {
+        orderHistoryRepository.deleteByOrderId(orderId);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordUserRenamed(Long userId, String name) {
+        orderHistoryRepository.updateUserName(userId, name);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordProductRenamed(Long productId, String productName) {
+        orderHistoryRepository.updateProductName(productId, productName);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    // Deleting a user or product cascades to its orders
+    public void recordUserDeleted(Long userId) {
+        orderHistoryRepository.deleteByUserId(userId);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    public void recordProductDeleted(Long productId) {
+        orderHistoryRepository.deleteByProductId(productId);
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+    }
+
+    private static OrderHistory toHistory(Order order) {
+        OrderHistory history = new OrderHistory();
+        history.setId(order.getId());
+        history.setUserId(order.getUser().getId());
+        history.setProductId(order.getProduct().getId());
+        history.setUserName(order.getUser().getName());
+        history.setProductName(order.getProduct().getProductName());
+        history.setQuantity(order.getQuantity());
+        history.setOrderStatus(order.getOrderStatus());
+        history.setCreatedAt(order.getCreatedAt());
+        return history;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ecommerce.services;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Memory-mapped ring journal of accepted orders. Records are fixed-size and checksummed,
+// and the record with sequence n lives in slot (n - 1) % slots; the header holds the
+// highest sequence known to be in the database, and slots at or behind it are reused.
+// Appends are made durable with sync, which forces everything appended so far, so
+// concurrent callers share one flush.
+final class OrderJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x4F524A32;
+    private static final int HEADER_SIZE = 64;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final int SLOTS_OFFSET = 16;
+    // seq, userId, productId, quantity, createdAt (epoch millis, UTC), crc
+    private static final int RECORD_SIZE = 8 + 8 + 8 + 4 + 8 + 4;
+
+    record Entry(long seq, long userId, long productId, int quantity, LocalDateTime createdAt) {
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+    private final List<Entry> recovered = new ArrayList<>();
+    private final Object syncLock = new Object();
+
+    private long lastSeq;
+    private long checkpoint;
+    // Guarded by syncLock
+    private long syncedSeq;
+
+    OrderJournal(Path file, int capacityBytes) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // An existing journal keeps its size, so every sequence stays in its slot
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(0) == MAGIC) {
+            slots = header.getInt(SLOTS_OFFSET);
+        } else {
+            slots = (capacityBytes - HEADER_SIZE) / RECORD_SIZE;
+            header.putInt(SLOTS_OFFSET, slots);
+            header.putLong(CHECKPOINT_OFFSET, 0);
+            header.putInt(0, MAGIC);
+            header.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+        checkpoint = buffer.getLong(CHECKPOINT_OFFSET);
+        lastSeq = checkpoint;
+        recover();
+        syncedSeq = lastSeq;
+    }
+
+    // Entries appended but never checkpointed before the last shutdown, in sequence order
+    List<Entry> recovered() {
+        return recovered;
+    }
+
+    long lastRecoveredSeq() {
+        return recovered.isEmpty() ? checkpoint : recovered.get(recovered.size() - 1).seq();
+    }
+
+    // Returns null when every slot holds an entry that is not yet checkpointed
+    synchronized Entry append(long userId, long productId, int quantity, LocalDateTime createdAt) {
+        if (lastSeq - checkpoint >= slots) {
+            return null;
+        }
+        Entry entry = new Entry(lastSeq + 1, userId, productId, quantity, createdAt);
+        int offset = offsetOf(entry.seq());
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        buffer.putLong(offset, entry.seq());
+        buffer.putLong(offset + 8, userId);
+        buffer.putLong(offset + 16, productId);
+        buffer.putInt(offset + 24, quantity);
+        buffer.putLong(offset + 28, millis);
+        buffer.putInt(offset + 36, checksum(offset));
+        lastSeq = entry.seq();
+        return entry;
+    }
+
+    // Returns once the entry with this sequence is on disk. Whoever forces covers every
+    // append before it, so callers queued behind a flush usually find their entry synced.
+    void sync(long seq) {
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            long appended;
+            synchronized (this) {
+                appended = lastSeq;
+            }
+            buffer.force();
+            syncedSeq = appended;
+        }
+    }
+
+    // Marks every entry up to seq as persisted, freeing their slots once that is on disk
+    synchronized void checkpoint(long seq) {
+        buffer.putLong(CHECKPOINT_OFFSET, seq);
+        buffer.force(CHECKPOINT_OFFSET, 8);
+        checkpoint = seq;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // Reads forward from the checkpoint while each slot holds the next intact sequence;
+    // anything else is a torn write or a record from an earlier lap
+    private void recover() {
+        for (long seq = checkpoint + 1; seq - checkpoint <= slots; seq++) {
+            int offset = offsetOf(seq);
+            if (buffer.getLong(offset) != seq || buffer.getInt(offset + 36) != checksum(offset)) {
+                break;
+            }
+            LocalDateTime createdAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(buffer.getLong(offset + 28)), ZoneOffset.UTC);
+            recovered.add(new Entry(seq, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                    buffer.getInt(offset + 24), createdAt));
+            lastSeq = seq;
+        }
+    }
+
+    private int offsetOf(long seq) {
+        return HEADER_SIZE + (int) ((seq - 1) % slots) * RECORD_SIZE;
+    }
+
+    private int checksum(int offset) {
+        CRC32 crc = new CRC32();
+        for (int i = offset; i < offset + RECORD_SIZE - 4; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+}
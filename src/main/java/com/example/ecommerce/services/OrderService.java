@@ -1,13 +1,25 @@
 package com.example.ecommerce.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.ecommerce.dto.BatchOrderDTO;
 import com.example.ecommerce.dto.OrderDTO;
-import com.example.ecommerce.exceptions.InsufficientStockException;
+import com.example.ecommerce.dto.OrderIntakeDTO;
+import com.example.ecommerce.dto.OrderLineDTO;
 import com.example.ecommerce.exceptions.ResourceNotFoundException;
 import com.example.ecommerce.models.Order;
 import com.example.ecommerce.models.OrderStatus;
@@ -27,103 +39,192 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final StockReservationService stockReservationService;
+    private final NdjsonExporter ndjsonExporter;
+    private final AdminStatsService adminStatsService;
+    private final OrderHistoryService orderHistoryService;
+    private final ObjectProvider<OrderWriteBehindService> writeBehind;
+    private final OptimisticRetry optimisticRetry;
 
     public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderRepository.findAllOrderDTOs();
     }
 
     public OrderDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findOrderDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        return convertToDTO(order);
     }
 
     public List<OrderDTO> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderHistoryService.getOrdersByUserId(userId);
     }
 
     public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByOrderStatus(status)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderRepository.findOrderDTOsByOrderStatus(status);
     }
 
     public List<OrderDTO> getOrdersByUserIdAndStatus(Long userId, OrderStatus status) {
-        return orderRepository.findByUserIdAndOrderStatus(userId, status)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderHistoryService.getOrdersByUserIdAndStatus(userId, status);
     }
 
+    public List<OrderDTO> getOrdersPage(long after, int limit) {
+        return orderRepository.findOrderDTOsAfter(after, Limit.of(limit));
+    }
+
+    public List<OrderDTO> getOrdersByUserIdPage(Long userId, long after, int limit) {
+        return orderHistoryService.getOrdersByUserIdPage(userId, after, limit);
+    }
+
+    public List<OrderDTO> getOrdersByStatusPage(OrderStatus status, long after, int limit) {
+        return orderRepository.findOrderDTOsByOrderStatusAfter(status, after, Limit.of(limit));
+    }
+
+    public List<OrderDTO> getOrdersByUserIdAndStatusPage(Long userId, OrderStatus status, long after, int limit) {
+        return orderHistoryService.getOrdersByUserIdAndStatusPage(userId, status, after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        try (Stream<OrderDTO> orders = orderRepository.streamAllOrderDTOs()) {
+            return ndjsonExporter.write(orders, out);
+        }
+    }
+
+    // With write-behind intake the order is journaled now and inserted by a later group
+    // commit; null when intake is disabled or its journal is full, and the order should be
+    // created directly
+    public OrderIntakeDTO acceptOrder(OrderDTO orderDTO) {
+        OrderWriteBehindService intake = writeBehind.getIfAvailable();
+        if (intake == null) {
+            return null;
+        }
+        User user = userRepository.findById(orderDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + orderDTO.getUserId()));
+        return intake.accept(user, orderDTO.getProductId(), orderDTO.getQuantity() != null ? orderDTO.getQuantity() : 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public OrderIntakeDTO getOrderIntake(Long intakeId) {
+        OrderWriteBehindService intake = writeBehind.getIfAvailable();
+        if (intake == null) {
+            throw new ResourceNotFoundException("Order intake not found with id: " + intakeId);
+        }
+        return intake.getIntake(intakeId);
+    }
+    
     public OrderDTO createOrder(OrderDTO orderDTO) {
         // Validate user exists
         User user = userRepository.findById(orderDTO.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + orderDTO.getUserId()));
         
-        // Validate product exists and has sufficient stock
-        Product product = productRepository.findById(orderDTO.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + orderDTO.getProductId()));
-        
         int requestedQuantity = orderDTO.getQuantity() != null ? orderDTO.getQuantity() : 1;
         
-        if (product.getQuantity() < requestedQuantity) {
-            throw new InsufficientStockException("Insufficient stock. Available: " + product.getQuantity() + ", Requested: " + requestedQuantity);
-        }
+        // Atomically take the stock; fails if the product is missing or has too little left
+        stockReservationService.reserve(orderDTO.getProductId(), requestedQuantity);
         
-        // Reduce product quantity
-        product.setQuantity(product.getQuantity() - requestedQuantity);
-        productRepository.save(product);
+        Product product = productRepository.findById(orderDTO.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + orderDTO.getProductId()));
+        stockReservationService.seed(product.getId(), product.getQuantity());
         
         // Create order
         Order order = new Order();
         order.setUser(user);
         order.setProduct(product);
         order.setQuantity(requestedQuantity);
+        order.setUnitPrice(product.getCost());
         order.setOrderStatus(OrderStatus.PENDING);
         
         Order savedOrder = orderRepository.save(order);
+        orderHistoryService.recordCreated(List.of(savedOrder));
+        adminStatsService.recordOrderCreated(savedOrder);
         return convertToDTO(savedOrder);
     }
 
+    public List<OrderDTO> createOrders(BatchOrderDTO batchOrderDTO) {
+        User user = userRepository.findById(batchOrderDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + batchOrderDTO.getUserId()));
+        
+        // Merge lines for the same product; sorted ids keep row locks in a consistent order across batches
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderLineDTO line : batchOrderDTO.getItems()) {
+            int lineQuantity = line.getQuantity() != null ? line.getQuantity() : 1;
+            quantities.merge(line.getProductId(), lineQuantity, Integer::sum);
+        }
+        
+        // Any failure rolls back every reservation in the batch
+        quantities.forEach(stockReservationService::reserve);
+        
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        List<Order> orders = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            stockReservationService.seed(productId, product.getQuantity());
+            
+            Order order = new Order();
+            order.setUser(user);
+            order.setProduct(product);
+            order.setQuantity(quantity);
+            order.setUnitPrice(product.getCost());
+            order.setOrderStatus(OrderStatus.PENDING);
+            orders.add(order);
+        });
+        
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderHistoryService.recordCreated(savedOrders);
+        for (Order savedOrder : savedOrders) {
+            adminStatsService.recordOrderCreated(savedOrder);
+        }
+        return savedOrders.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // A conflicting update re-reads the order, so a cancellation can never restore stock twice
+    @Transactional(propagation = Propagation.SUPPORTS)
     public OrderDTO updateOrderStatus(Long id, OrderStatus status) {
+        return optimisticRetry.execute("OrderService.updateOrderStatus", () -> applyStatus(id, status));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void deleteOrder(Long id) {
+        optimisticRetry.run("OrderService.deleteOrder", () -> applyDelete(id));
+    }
+
+    private OrderDTO applyStatus(Long id, OrderStatus status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         
         // If order is being cancelled, restore the product quantity
         if (status == OrderStatus.CANCELLED && order.getOrderStatus() != OrderStatus.CANCELLED) {
-            Product product = order.getProduct();
-            product.setQuantity(product.getQuantity() + order.getQuantity());
-            productRepository.save(product);
+            stockReservationService.release(order.getProduct().getId(), order.getQuantity());
         }
         
+        adminStatsService.recordOrderStatusChanged(order, status);
         order.setOrderStatus(status);
         Order updatedOrder = orderRepository.save(order);
+        orderHistoryService.recordStatusChanged(id, status);
         return convertToDTO(updatedOrder);
     }
 
-    public void deleteOrder(Long id) {
+    private void applyDelete(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         
         // Restore product quantity if order is not already cancelled
         if (order.getOrderStatus() != OrderStatus.CANCELLED) {
-            Product product = order.getProduct();
-            product.setQuantity(product.getQuantity() + order.getQuantity());
-            productRepository.save(product);
+            stockReservationService.release(order.getProduct().getId(), order.getQuantity());
         }
         
+        adminStatsService.recordOrderDeleted(order);
         orderRepository.delete(order);
+        orderHistoryService.recordDeleted(id);
     }
 
-    // Helper method
-    private OrderDTO convertToDTO(Order order) {
+    // Helper methods
+    OrderDTO convertToDTO(Order order) {
         OrderDTO dto = new OrderDTO();
         dto.setId(order.getId());
         dto.setUserId(order.getUser().getId());
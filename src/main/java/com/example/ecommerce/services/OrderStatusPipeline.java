@@ -0,0 +1,259 @@
+package com.example.ecommerce.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.ecommerce.dto.BulkStatusJobDTO;
+import com.example.ecommerce.exceptions.QueueFullException;
+import com.example.ecommerce.exceptions.ResourceNotFoundException;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.repositories.OrderRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Bulk order status changes. A submitted job's transitions go onto a bounded queue and
+// the caller gets a job id to poll; worker threads apply whatever has queued up in one
+// transaction per batch, restoring stock for cancellations with one UPDATE per product.
+// A submission that does not fit in the queue is refused whole rather than blocking.
+@Service
+public class OrderStatusPipeline {
+
+    private enum Outcome { UPDATED, UNCHANGED, NOT_FOUND, FAILED }
+
+    private record Transition(Job job, Long orderId) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final StockReservationService stockReservationService;
+    private final AdminStatsService adminStatsService;
+    private final OrderHistoryService orderHistoryService;
+    private final OptimisticRetry optimisticRetry;
+
+    private final int batchSize;
+    private final Duration jobRetention;
+    // Permits cover queued and in-flight transitions, so a job is admitted all at once or not at all
+    private final Semaphore capacity;
+    private final BlockingQueue<Transition> queue;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public OrderStatusPipeline(
+            OrderRepository orderRepository,
+            StockReservationService stockReservationService,
+            AdminStatsService adminStatsService,
+            OrderHistoryService orderHistoryService,
+            OptimisticRetry optimisticRetry,
+            @Value("${orders.status-pipeline.queue-capacity:20000}") int queueCapacity,
+            @Value("${orders.status-pipeline.workers:2}") int workerCount,
+            @Value("${orders.status-pipeline.batch-size:500}") int batchSize,
+            @Value("${orders.status-pipeline.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.orderRepository = orderRepository;
+        this.stockReservationService = stockReservationService;
+        this.adminStatsService = adminStatsService;
+        this.orderHistoryService = orderHistoryService;
+        this.optimisticRetry = optimisticRetry;
+        this.batchSize = batchSize;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+        this.capacity = new Semaphore(queueCapacity);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "order-status-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workers.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            }
+        }
+    }
+
+    // Duplicate ids in a submission are applied once
+    public BulkStatusJobDTO submit(List<Long> orderIds, OrderStatus status) {
+        purgeFinishedJobs();
+        List<Long> ids = orderIds.stream().distinct().toList();
+        if (!running || !capacity.tryAcquire(ids.size())) {
+            throw new QueueFullException("Order status queue is full, please retry shortly");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), status, ids.size());
+        jobs.put(job.id, job);
+        for (Long id : ids) {
+            queue.add(new Transition(job, id));
+        }
+        return job.toDTO();
+    }
+
+    public BulkStatusJobDTO getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk status job not found with id: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    private void workLoop() {
+        List<Transition> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Transition first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Transition> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = optimisticRetry.execute("OrderStatusPipeline.apply", () -> apply(batch));
+        } catch (RuntimeException e) {
+            // Retry one by one so a single failing order can't sink the rest of the batch
+            outcomes = new ArrayList<>(batch.size());
+            for (Transition transition : batch) {
+                try {
+                    outcomes.add(optimisticRetry.execute("OrderStatusPipeline.apply", () -> apply(List.of(transition))).get(0));
+                } catch (RuntimeException single) {
+                    outcomes.add(Outcome.FAILED);
+                }
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).job().record(batch.get(i).orderId(), outcomes.get(i));
+        }
+    }
+
+    // Transitions apply in queue order, so an order named by two jobs in one batch ends
+    // with the later status and has its stock restored at most once
+    private List<Outcome> apply(List<Transition> batch) {
+        Map<Long, Order> orders = orderRepository.findWithProductByIdIn(batch.stream().map(Transition::orderId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        // Sorted by product id so concurrent batches lock product rows in the same order
+        Map<Long, Integer> restored = new TreeMap<>();
+        Map<Long, OrderStatus> changed = new LinkedHashMap<>();
+        for (Transition transition : batch) {
+            Order order = orders.get(transition.orderId());
+            OrderStatus status = transition.job().status;
+            if (order == null) {
+                outcomes.add(Outcome.NOT_FOUND);
+                continue;
+            }
+            if (order.getOrderStatus() == status) {
+                outcomes.add(Outcome.UNCHANGED);
+                continue;
+            }
+            if (status == OrderStatus.CANCELLED) {
+                restored.merge(order.getProduct().getId(), order.getQuantity(), Integer::sum);
+            }
+            adminStatsService.recordOrderStatusChanged(order, status);
+            order.setOrderStatus(status);
+            changed.put(order.getId(), status);
+            outcomes.add(Outcome.UPDATED);
+        }
+
+        restored.forEach(stockReservationService::release);
+        Map<OrderStatus, List<Long>> byStatus = new EnumMap<>(OrderStatus.class);
+        changed.forEach((orderId, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(orderId));
+        byStatus.forEach((status, orderIds) -> orderHistoryService.recordStatusChanged(orderIds, status));
+        return outcomes;
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final OrderStatus status;
+        private final int requested;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final Queue<Long> notFound = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger remaining;
+        private volatile LocalDateTime completedAt;
+
+        private Job(String id, OrderStatus status, int requested) {
+            this.id = id;
+            this.status = status;
+            this.requested = requested;
+            this.remaining = new AtomicInteger(requested);
+        }
+
+        private void record(Long orderId, Outcome outcome) {
+            switch (outcome) {
+                case UPDATED -> updated.incrementAndGet();
+                case UNCHANGED -> unchanged.incrementAndGet();
+                case NOT_FOUND -> notFound.add(orderId);
+                case FAILED -> failed.add(orderId);
+            }
+            if (remaining.decrementAndGet() == 0) {
+                completedAt = LocalDateTime.now();
+            }
+        }
+
+        private BulkStatusJobDTO toDTO() {
+            LocalDateTime finished = completedAt;
+            return new BulkStatusJobDTO(
+                    id,
+                    status,
+                    requested,
+                    updated.get(),
+                    unchanged.get(),
+                    new ArrayList<>(notFound),
+                    new ArrayList<>(failed),
+                    finished != null,
+                    createdAt,
+                    finished);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.ecommerce.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ecommerce.dto.OrderIntakeDTO;
+import com.example.ecommerce.dto.OrderIntakeStatus;
+import com.example.ecommerce.exceptions.ResourceNotFoundException;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Product;
+import com.example.ecommerce.models.User;
+import com.example.ecommerce.repositories.OrderIntakeFailureRepository;
+import com.example.ecommerce.repositories.OrderRepository;
+import com.example.ecommerce.repositories.ProductRepository;
+import com.example.ecommerce.repositories.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// High-throughput order intake. An accepted order takes its stock from the in-memory
+// counters, is appended to the local journal, synced to disk together with whatever else
+// was appended meanwhile, and acknowledged with an intake id to poll; a single writer
+// thread then persists whatever has queued up in one transaction per batch, so many orders
+// share each database commit. An entry that cannot become an order is recorded in
+// order_intake_failures instead, and the journal is only checkpointed past entries that
+// reached one table or the other. Unpersisted entries are replayed on startup.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "orders.write-behind.enabled", havingValue = "true")
+public class OrderWriteBehindService {
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final OrderRepository orderRepository;
+    private final OrderIntakeFailureRepository failureRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final StockReservationService stockReservationService;
+    private final AdminStatsService adminStatsService;
+    private final OrderHistoryService orderHistoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final OrderJournal journal;
+    private final long replayedThroughSeq;
+    private final BlockingQueue<OrderJournal.Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, AtomicInteger> unwrittenUnits = new ConcurrentHashMap<>();
+    // Journaled entries the writer has not yet resolved, by sequence
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Thread writer = new Thread(this::writeLoop, "order-write-behind");
+    private volatile boolean running = true;
+
+    public OrderWriteBehindService(
+            OrderRepository orderRepository,
+            OrderIntakeFailureRepository failureRepository,
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            StockReservationService stockReservationService,
+            AdminStatsService adminStatsService,
+            OrderHistoryService orderHistoryService,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.write-behind.journal-file:data/order-journal.dat}") String journalFile,
+            @Value("${orders.write-behind.journal-size-mb:64}") int journalSizeMb,
+            @Value("${orders.write-behind.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.failureRepository = failureRepository;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.stockReservationService = stockReservationService;
+        this.adminStatsService = adminStatsService;
+        this.orderHistoryService = orderHistoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        try {
+            this.journal = new OrderJournal(Path.of(journalFile), journalSizeMb * 1024 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal " + journalFile, e);
+        }
+        this.replayedThroughSeq = journal.lastRecoveredSeq();
+        for (OrderJournal.Entry entry : journal.recovered()) {
+            addUnwritten(entry.productId(), entry.quantity());
+            pending.add(entry.seq());
+            queue.add(entry);
+        }
+        writer.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        journal.close();
+    }
+
+    // Returns null when the journal is full; the caller should then create the order directly
+    public OrderIntakeDTO accept(User user, Long productId, int quantity) {
+        stockReservationService.reserveAhead(productId, quantity, this::unwrittenUnits);
+        addUnwritten(productId, quantity);
+
+        OrderJournal.Entry entry;
+        try {
+            entry = journal.append(user.getId(), productId, quantity, LocalDateTime.now());
+            if (entry != null) {
+                journal.sync(entry.seq());
+            }
+        } catch (RuntimeException e) {
+            unreserve(productId, quantity);
+            throw e;
+        }
+        if (entry == null) {
+            unreserve(productId, quantity);
+            return null;
+        }
+        pending.add(entry.seq());
+        queue.add(entry);
+        return new OrderIntakeDTO(entry.seq(), OrderIntakeStatus.QUEUED, null, null);
+    }
+
+    // Pending is checked first: an entry leaves it only after reaching one of the tables
+    public OrderIntakeDTO getIntake(Long intakeId) {
+        if (pending.contains(intakeId)) {
+            return new OrderIntakeDTO(intakeId, OrderIntakeStatus.QUEUED, null, null);
+        }
+        Long orderId = orderRepository.findIdByIntakeSeq(intakeId).orElse(null);
+        if (orderId != null) {
+            return new OrderIntakeDTO(intakeId, OrderIntakeStatus.CREATED, orderId, null);
+        }
+        return failureRepository.findReason(intakeId)
+                .map(reason -> new OrderIntakeDTO(intakeId, OrderIntakeStatus.FAILED, null, reason))
+                .orElseThrow(() -> new ResourceNotFoundException("Order intake not found with id: " + intakeId));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void writeLoop() {
+        List<OrderJournal.Entry> batch = new ArrayList<>(batchSize);
+        long retryDelay = MIN_RETRY_DELAY_MILLIS;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                // A batch left over from a failed flush is retried; its entries are still journaled
+                boolean retry = !batch.isEmpty();
+                if (retry) {
+                    if (!running) {
+                        return;
+                    }
+                    Thread.sleep(retryDelay);
+                } else {
+                    OrderJournal.Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    // Everything that queued up during the previous commit goes into this one
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                flush(batch, retry);
+                batch.clear();
+                retryDelay = MIN_RETRY_DELAY_MILLIS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} journaled orders (seq {}-{}), retrying in {} ms",
+                        batch.size(), batch.get(0).seq(), batch.get(batch.size() - 1).seq(), retryDelay, e);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    // Throws, leaving the journal where it was, when an entry could not be written for a
+    // reason that may pass (a deadlock, a lock wait timeout, a lost connection)
+    private void flush(List<OrderJournal.Entry> batch, boolean retry) {
+        // Entries replayed after a crash, or retried, may already have made it into the database
+        boolean recheck = retry || batch.get(0).seq() <= replayedThroughSeq;
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch, recheck));
+        } catch (RuntimeException e) {
+            // Retry one by one so a single bad entry (say, its product was deleted) can't block
+            // the rest; entries committed before a transient error are skipped on the next try
+            for (OrderJournal.Entry entry : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(entry), true));
+                } catch (ResourceNotFoundException | DataIntegrityViolationException single) {
+                    stockReservationService.forget(entry.productId());
+                    String reason = NestedExceptionUtils.getMostSpecificCause(single).getMessage();
+                    transactionTemplate.executeWithoutResult(status -> recordFailed(entry, reason != null ? reason : single.toString()));
+                }
+            }
+        }
+        journal.checkpoint(batch.get(batch.size() - 1).seq());
+        for (OrderJournal.Entry entry : batch) {
+            addUnwritten(entry.productId(), -entry.quantity());
+            pending.remove(entry.seq());
+        }
+    }
+
+    private void persist(List<OrderJournal.Entry> batch, boolean recheck) {
+        Set<Long> resolved = new HashSet<>();
+        if (recheck) {
+            List<Long> seqs = batch.stream().map(OrderJournal.Entry::seq).toList();
+            resolved.addAll(orderRepository.findIntakeSeqsIn(seqs));
+            resolved.addAll(failureRepository.findIntakeSeqsIn(seqs));
+        }
+        List<OrderJournal.Entry> entries = batch.stream()
+                .filter(entry -> !resolved.contains(entry.seq()))
+                .toList();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(entries.stream().map(OrderJournal.Entry::productId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Loaded up front so the references below are already initialized for the history rows
+        Set<Long> users = userRepository.findAllById(entries.stream().map(OrderJournal.Entry::userId).collect(Collectors.toSet()))
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        // An entry whose user or product was removed since it was accepted becomes a failure,
+        // not an order
+        Set<Long> failed = new HashSet<>();
+        Map<Long, List<OrderJournal.Entry>> byProduct = new TreeMap<>();
+        for (OrderJournal.Entry entry : entries) {
+            if (!users.contains(entry.userId())) {
+                failed.add(entry.seq());
+                recordFailed(entry, "User not found with id: " + entry.userId());
+            } else if (!products.containsKey(entry.productId())) {
+                failed.add(entry.seq());
+                recordFailed(entry, "Product not found with id: " + entry.productId());
+            } else {
+                byProduct.computeIfAbsent(entry.productId(), id -> new ArrayList<>()).add(entry);
+            }
+        }
+        // One stock update per product, in product order so concurrent writers lock rows
+        // consistently. If the row can't cover them all, the entries take stock one by one
+        // and those left short fail.
+        byProduct.forEach((productId, productEntries) -> {
+            int total = productEntries.stream().mapToInt(OrderJournal.Entry::quantity).sum();
+            if (productEntries.size() > 1 && stockReservationService.applyReserved(productId, total)) {
+                return;
+            }
+            for (OrderJournal.Entry entry : productEntries) {
+                if (!stockReservationService.applyReserved(productId, entry.quantity())) {
+                    failed.add(entry.seq());
+                    recordFailed(entry, "Insufficient stock when the order was written");
+                }
+            }
+        });
+
+        List<Order> orders = new ArrayList<>(entries.size());
+        for (OrderJournal.Entry entry : entries) {
+            if (failed.contains(entry.seq())) {
+                continue;
+            }
+            Order order = new Order();
+            order.setUser(userRepository.getReferenceById(entry.userId()));
+            order.setProduct(products.get(entry.productId()));
+            order.setQuantity(entry.quantity());
+            order.setUnitPrice(order.getProduct().getCost());
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setCreatedAt(entry.createdAt());
+            order.setIntakeSeq(entry.seq());
+            orders.add(order);
+        }
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderHistoryService.recordCreated(savedOrders);
+        savedOrders.forEach(adminStatsService::recordOrderCreated);
+    }
+
+    // Hands back units taken by accept for an entry that was never journaled
+    private void unreserve(Long productId, int quantity) {
+        addUnwritten(productId, -quantity);
+        stockReservationService.cancelAhead(productId, quantity);
+    }
+
+    private void recordFailed(OrderJournal.Entry entry, String reason) {
+        failureRepository.insert(entry.seq(), entry.userId(), entry.productId(), entry.quantity(), entry.createdAt(), reason);
+    }
+
+    private int unwrittenUnits(Long productId) {
+        AtomicInteger units = unwrittenUnits.get(productId);
+        return units != null ? units.get() : 0;
+    }
+
+    private void addUnwritten(Long productId, int quantity) {
+        unwrittenUnits.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity);
+    }
+}
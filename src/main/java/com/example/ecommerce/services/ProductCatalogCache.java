@@ -0,0 +1,198 @@
+package com.example.ecommerce.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ecommerce.dto.CacheStatsDTO;
+import com.example.ecommerce.dto.ProductDTO;
+
+// In-memory catalog reads: per-id entries plus the "all" and "available" list views.
+// Writers invalidate both immediately and after commit; a load that raced with an
+// invalidation is returned to its caller but not cached. Per-id entries are stored and
+// evicted under the map's lock for that id; list views are replaced with a fresh empty
+// holder on eviction, so a load can only install its result over the holder it saw.
+// Every product write comes through invalidate, so it also advances the products change
+// counter.
+@Component
+public class ProductCatalogCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ChangeCounters changeCounters;
+
+    private final ConcurrentHashMap<Long, Entry<ProductDTO>> products = new ConcurrentHashMap<>();
+    private final AtomicReference<Entry<List<ProductDTO>>> allProducts = new AtomicReference<>(Entry.empty());
+    private final AtomicReference<Entry<List<ProductDTO>>> availableProducts = new AtomicReference<>(Entry.empty());
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ProductCatalogCache(
+            @Value("${catalog.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${catalog.cache.max-entries:10000}") int maxEntries,
+            ChangeCounters changeCounters) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+        this.changeCounters = changeCounters;
+    }
+
+    public ProductDTO getProduct(Long id, Supplier<ProductDTO> loader) {
+        Entry<ProductDTO> entry = products.get(id);
+        if (entry != null && !entry.isExpired()) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        ProductDTO product = loader.get();
+        makeRoom();
+        cache(id, product, loadGeneration, System.nanoTime() + ttlNanos);
+        return product;
+    }
+
+    // Resolves ids in the given order, loading every miss with one call; unknown ids are skipped
+    public List<ProductDTO> getProducts(List<Long> ids, Function<List<Long>, List<ProductDTO>> loader) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Entry<ProductDTO> entry = products.get(id);
+            if (entry == null || entry.isExpired()) {
+                missing.add(id);
+            }
+        }
+        hits.add(ids.size() - missing.size());
+        misses.add(missing.size());
+
+        Map<Long, ProductDTO> loaded = Map.of();
+        if (!missing.isEmpty()) {
+            long loadGeneration = generation.get();
+            loaded = loader.apply(missing)
+                    .stream()
+                    .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+            long expiresAt = System.nanoTime() + ttlNanos;
+            for (ProductDTO product : loaded.values()) {
+                makeRoom();
+                cache(product.getId(), product, loadGeneration, expiresAt);
+            }
+        }
+
+        List<ProductDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductDTO product = loaded.get(id);
+            if (product == null) {
+                Entry<ProductDTO> entry = products.get(id);
+                product = entry != null ? entry.value : null;
+            }
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    public List<ProductDTO> getAllProducts(Supplier<List<ProductDTO>> loader) {
+        return getView(allProducts, loader);
+    }
+
+    public List<ProductDTO> getAvailableProducts(Supplier<List<ProductDTO>> loader) {
+        return getView(availableProducts, loader);
+    }
+
+    // Drops the product and both list views, now and again once the writing transaction commits
+    public void invalidate(Long id) {
+        evict(id);
+        TransactionCallbacks.afterCommit(() -> evict(id));
+        changeCounters.changed(ChangeCounters.Table.PRODUCTS);
+    }
+
+    public CacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        double hitRate = requests == 0 ? 0.0 : (double) hitCount / requests;
+        return new CacheStatsDTO(hitCount, missCount, evictions.sum(), invalidations.sum(), products.size(), hitRate);
+    }
+
+    private List<ProductDTO> getView(AtomicReference<Entry<List<ProductDTO>>> view, Supplier<List<ProductDTO>> loader) {
+        Entry<List<ProductDTO>> entry = view.get();
+        if (entry.value != null && !entry.isExpired()) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        List<ProductDTO> loaded = List.copyOf(loader.get());
+        // Fails if an eviction swapped in a new holder while the loader ran
+        view.compareAndSet(entry, new Entry<>(loaded, System.nanoTime() + ttlNanos));
+        return loaded;
+    }
+
+    // The generation check runs under the same lock evict takes for the id, so an eviction
+    // either removes this entry afterwards or has already moved the generation on
+    private void cache(Long id, ProductDTO product, long loadGeneration, long expiresAt) {
+        products.compute(id, (key, current) ->
+                generation.get() == loadGeneration ? new Entry<>(product, expiresAt) : current);
+    }
+
+    private void evict(Long id) {
+        products.compute(id, (key, current) -> {
+            generation.incrementAndGet();
+            return null;
+        });
+        invalidations.increment();
+        allProducts.set(Entry.empty());
+        availableProducts.set(Entry.empty());
+    }
+
+    // Expired entries go first; if the cache is still full, arbitrary entries make way
+    private void makeRoom() {
+        if (products.size() < maxEntries) {
+            return;
+        }
+        products.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired();
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        Iterator<Long> ids = products.keySet().iterator();
+        while (products.size() >= maxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        // A new instance every time, so each eviction is distinguishable from the last
+        private static <V> Entry<V> empty() {
+            return new Entry<>(null, 0);
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.ecommerce.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ecommerce.dto.ProductDTO;
+
+// Price/stock index for combined product filters. Products are laid out in a primitive
+// array sorted by cost in cents (then id), so a price range is a contiguous slice; stock
+// and name matches are bitsets over the same positions and combine with a single AND.
+// The layout is sorted once, on the first query after startup; after that, price and
+// membership changes are merged into it in one pass per batch, and stock changes just
+// flip a bit.
+@Component
+public class ProductFilterIndex {
+
+    private final int lowStockThreshold;
+    private final Map<Long, Long> costs = new HashMap<>();
+    private final Map<Long, Integer> quantities = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] sortedCosts = new long[0];
+    private long[] sortedIds = new long[0];
+    private BitSet inStock = new BitSet();
+    // Only true until the first query; the startup load just fills the maps
+    private volatile boolean stale = true;
+    private volatile int lowStockCount;
+
+    public ProductFilterIndex(@Value("${admin.stats.low-stock-threshold:10}") int lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    public void put(ProductDTO product) {
+        putAll(List.of(product));
+    }
+
+    public void putAll(Collection<ProductDTO> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int[] vacated = stale ? null : positionsOf(products.stream().map(ProductDTO::getId).toList());
+            for (ProductDTO product : products) {
+                costs.put(product.getId(), toCents(product.getCost()));
+                trackLowStock(quantities.put(product.getId(), product.getQuantity()), product.getQuantity());
+            }
+            if (!stale) {
+                merge(vacated, products.stream().map(ProductDTO::getId).distinct().toList());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            int[] vacated = stale ? null : positionsOf(List.of(productId));
+            costs.remove(productId);
+            trackLowStock(quantities.remove(productId), null);
+            if (!stale) {
+                merge(vacated, List.of());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void adjustQuantity(Long productId, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer quantity = quantities.computeIfPresent(productId, (id, current) -> current + delta);
+            if (quantity != null) {
+                trackLowStock(quantity - delta, quantity);
+            }
+            int position = quantity != null && !stale ? positionOf(productId) : -1;
+            if (position >= 0) {
+                inStock.set(position, quantity > 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return costs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Products at or below the low-stock threshold, maintained on every change
+    public int countLowStock() {
+        return lowStockCount;
+    }
+
+    // Product ids matching every given criterion, ordered by price; null criteria are ignored
+    public List<Long> filter(BigDecimal minCost, BigDecimal maxCost, boolean inStockOnly,
+            Collection<Long> candidateIds, boolean descending, int limit) {
+        if (stale) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            int from = minCost != null ? lowerBound(toCents(minCost)) : 0;
+            int to = maxCost != null ? upperBound(toCents(maxCost)) : sortedIds.length;
+            BitSet matches = new BitSet(sortedIds.length);
+            if (from < to) {
+                matches.set(from, to);
+            }
+            if (inStockOnly) {
+                matches.and(inStock);
+            }
+            if (candidateIds != null) {
+                BitSet candidates = new BitSet(sortedIds.length);
+                for (Long id : candidateIds) {
+                    int position = positionOf(id);
+                    if (position >= 0) {
+                        candidates.set(position);
+                    }
+                }
+                matches.and(candidates);
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            int position = descending ? matches.previousSetBit(sortedIds.length - 1) : matches.nextSetBit(0);
+            while (position >= 0 && ids.size() < limit) {
+                ids.add(sortedIds[position]);
+                position = descending ? matches.previousSetBit(position - 1) : matches.nextSetBit(position + 1);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (!stale) {
+                return;
+            }
+            Long[] ids = costs.keySet().toArray(new Long[0]);
+            Arrays.sort(ids, byCost());
+
+            long[] newCosts = new long[ids.length];
+            long[] newIds = new long[ids.length];
+            BitSet newInStock = new BitSet(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                newCosts[i] = costs.get(ids[i]);
+                newIds[i] = ids[i];
+                newInStock.set(i, quantities.get(ids[i]) > 0);
+            }
+            sortedCosts = newCosts;
+            sortedIds = newIds;
+            inStock = newInStock;
+            stale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called under the write lock with the maps already updated: drops the vacated positions
+    // and slots the changed ids still present back in at their current cost, in one pass
+    private void merge(int[] vacated, List<Long> changedIds) {
+        Long[] added = changedIds.stream().filter(costs::containsKey).sorted(byCost()).toArray(Long[]::new);
+        int capacity = sortedIds.length - vacated.length + added.length;
+        long[] newCosts = new long[capacity];
+        long[] newIds = new long[capacity];
+        BitSet newInStock = new BitSet(capacity);
+
+        int size = 0;
+        int next = 0;
+        int skip = 0;
+        for (int i = 0; i <= sortedIds.length; i++) {
+            while (next < added.length && (i == sortedIds.length
+                    || compare(costs.get(added[next]), added[next], sortedCosts[i], sortedIds[i]) < 0)) {
+                long id = added[next++];
+                newCosts[size] = costs.get(id);
+                newIds[size] = id;
+                newInStock.set(size, quantities.get(id) > 0);
+                size++;
+            }
+            if (i == sortedIds.length) {
+                break;
+            }
+            if (skip < vacated.length && vacated[skip] == i) {
+                skip++;
+                continue;
+            }
+            newCosts[size] = sortedCosts[i];
+            newIds[size] = sortedIds[i];
+            newInStock.set(size, inStock.get(i));
+            size++;
+        }
+        sortedCosts = newCosts;
+        sortedIds = newIds;
+        inStock = newInStock;
+    }
+
+    // Current positions of the ids that are laid out, ascending; read before costs change
+    private int[] positionsOf(List<Long> ids) {
+        return ids.stream()
+                .mapToInt(this::positionOf)
+                .filter(position -> position >= 0)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    // Binary search on (cost, id); -1 when the product is not in the layout
+    private int positionOf(Long productId) {
+        Long cents = costs.get(productId);
+        if (cents == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = sortedIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(sortedCosts[mid], sortedIds[mid], cents, productId) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < sortedIds.length && sortedIds[low] == productId ? low : -1;
+    }
+
+    private Comparator<Long> byCost() {
+        return Comparator.<Long>comparingLong(costs::get).thenComparing(Comparator.naturalOrder());
+    }
+
+    private static int compare(long costA, long idA, long costB, long idB) {
+        int byCost = Long.compare(costA, costB);
+        return byCost != 0 ? byCost : Long.compare(idA, idB);
+    }
+
+    // Called under the write lock; null means the product is absent on that side
+    private void trackLowStock(Integer before, Integer after) {
+        boolean wasLow = before != null && before <= lowStockThreshold;
+        boolean isLow = after != null && after <= lowStockThreshold;
+        if (wasLow != isLow) {
+            lowStockCount += isLow ? 1 : -1;
+        }
+    }
+
+    // First position whose cost is >= cents
+    private int lowerBound(long cents) {
+        int low = 0;
+        int high = sortedCosts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedCosts[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose cost is > cents
+    private int upperBound(long cents) {
+        int low = 0;
+        int high = sortedCosts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedCosts[mid] <= cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
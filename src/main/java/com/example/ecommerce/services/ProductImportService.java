@@ -0,0 +1,155 @@
+package com.example.ecommerce.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.ProductImportErrorDTO;
+import com.example.ecommerce.dto.ProductImportFormat;
+import com.example.ecommerce.dto.ProductImportResultDTO;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Bulk product import. Rows are bound one at a time off Jackson's streaming parser,
+// validated against the ProductDTO constraints and upserted in batches, each in its own
+// transaction; only the current batch and a capped error list are held in memory.
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductImportService {
+
+    private final ProductService productService;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProductImportService(
+            ProductService productService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${catalog.import.batch-size:500}") int batchSize,
+            @Value("${catalog.import.max-errors:1000}") int maxErrors) {
+        this.productService = productService;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(ProductDTO.class);
+        this.csvReader = new CsvMapper()
+                .readerFor(ProductDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ProductImportResultDTO importProducts(InputStream in, ProductImportFormat format) throws IOException {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        List<ProductDTO> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        ObjectReader reader = format == ProductImportFormat.CSV ? csvReader : ndjsonReader;
+
+        try (MappingIterator<ProductDTO> rows = reader.readValues(in)) {
+            while (true) {
+                long line = 0;
+                ProductDTO row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    line = lineOf(rows.getCurrentLocation());
+                    row = rows.nextValue();
+                } catch (DatabindException e) {
+                    // A bad value only spoils its own row; the iterator resumes at the next one
+                    result.setRows(result.getRows() + 1);
+                    fail(result, line != 0 ? line : lineOf(e.getLocation()), e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // Malformed syntax leaves the parser with no safe place to resume
+                    fail(result, lineOf(e.getLocation()), "Unreadable input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                result.setRows(result.getRows() + 1);
+
+                Set<ConstraintViolation<ProductDTO>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    fail(result, line, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                batch.add(row);
+                batchLines.add(line);
+                if (batch.size() == batchSize) {
+                    flush(batch, batchLines, result);
+                }
+            }
+        }
+        flush(batch, batchLines, result);
+        return result;
+    }
+
+    private void flush(List<ProductDTO> batch, List<Long> batchLines, ProductImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            record(batch, batchLines, productService.upsertProducts(batch), result);
+        } catch (RuntimeException e) {
+            // Retry one by one so a row the database rejects fails alone instead of the whole import
+            for (int i = 0; i < batch.size(); i++) {
+                List<ProductDTO> row = List.of(batch.get(i));
+                List<Long> line = List.of(batchLines.get(i));
+                try {
+                    record(row, line, productService.upsertProducts(row), result);
+                } catch (RuntimeException single) {
+                    fail(result, line.get(0), "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void record(List<ProductDTO> rows, List<Long> lines, List<ProductDTO> saved, ProductImportResultDTO result) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (saved.get(i) == null) {
+                fail(result, lines.get(i), "Product not found with id: " + rows.get(i).getId());
+            } else if (rows.get(i).getId() == null) {
+                result.setCreated(result.getCreated() + 1);
+            } else {
+                result.setUpdated(result.getUpdated() + 1);
+            }
+        }
+    }
+
+    private void fail(ProductImportResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ProductImportErrorDTO(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static long lineOf(JsonLocation location) {
+        return location != null ? location.getLineNr() : 0;
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.ecommerce.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.ecommerce.dto.ProductSuggestionDTO;
+
+// Typeahead over product names. Every word start of a normalized name is inserted
+// into a character trie, so "lap" finds both "Laptop Bag" and "Gaming Laptop".
+// Every node keeps the best MAX_SUGGESTIONS ids under it, shorter completions first and
+// then lower ids, updated on insert and remove; a lookup walks the prefix and copies them.
+@Component
+public class ProductNameSuggester {
+
+    public static final int MAX_SUGGESTIONS = 20;
+    // Longer queries are rare; capping keys keeps the trie small
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final long[] NO_IDS = new long[0];
+    private static final int[] NO_LENGTHS = new int[0];
+
+    private final Node root = new Node();
+    private final Map<Long, String> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Long productId, String productName) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            names.put(productId, productName);
+            for (String key : keys(productName)) {
+                root.insert(key, 0, productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (prefix.length() > MAX_KEY_LENGTH) {
+            prefix = prefix.substring(0, MAX_KEY_LENGTH);
+        }
+
+        List<ProductSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, MAX_SUGGESTIONS));
+        lock.readLock().lock();
+        try {
+            Node node = root.find(prefix);
+            if (node == null) {
+                return List.of();
+            }
+            long[] top = node.top;
+            for (int i = 0; i < Math.min(limit, top.length); i++) {
+                suggestions.add(new ProductSuggestionDTO(top[i], names.get(top[i])));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    private void removeLocked(Long productId) {
+        String previous = names.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : keys(previous)) {
+            root.remove(key, 0, productId);
+        }
+    }
+
+    private static List<String> keys(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    // Lower-cases and collapses every run of non-alphanumerics to a single space
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Children live in parallel sorted arrays to keep nodes compact. ids holds the products
+    // whose key ends here, sorted; top and topLengths hold the best ids in the subtree with
+    // the length of their shortest key, sorted by that length and then id. Arrays are
+    // replaced rather than changed, so a node with no ids and a single child shares its
+    // child's top.
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private long[] ids = NO_IDS;
+        private long[] top = NO_IDS;
+        private int[] topLengths = NO_LENGTHS;
+
+        private void insert(String key, int depth, long id) {
+            if (depth == key.length()) {
+                int index = Arrays.binarySearch(ids, id);
+                if (index < 0) {
+                    index = -index - 1;
+                    long[] grown = new long[ids.length + 1];
+                    System.arraycopy(ids, 0, grown, 0, index);
+                    grown[index] = id;
+                    System.arraycopy(ids, index, grown, index + 1, ids.length - index);
+                    ids = grown;
+                }
+                offer(id, depth);
+                return;
+            }
+            char label = key.charAt(depth);
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                index = -index - 1;
+                labels = insertAt(labels, index, label);
+                children = insertAt(children, index, new Node());
+            }
+            children[index].insert(key, depth + 1, id);
+            if (ids.length == 0 && children.length == 1) {
+                top = children[0].top;
+                topLengths = children[0].topLengths;
+            } else {
+                offer(id, key.length());
+            }
+        }
+
+        private Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int index = Arrays.binarySearch(node.labels, prefix.charAt(i));
+                node = index >= 0 ? node.children[index] : null;
+            }
+            return node;
+        }
+
+        // Drops the id from the key's node, prunes nodes left with no ids and no children and
+        // rebuilds the top of every node on the path that held the id; returns whether this
+        // node is now empty
+        private boolean remove(String key, int depth, long id) {
+            if (depth == key.length()) {
+                int index = Arrays.binarySearch(ids, id);
+                if (index >= 0) {
+                    ids = ids.length == 1 ? NO_IDS : removeAt(ids, index);
+                }
+            } else {
+                int index = Arrays.binarySearch(labels, key.charAt(depth));
+                if (index >= 0 && children[index].remove(key, depth + 1, id)) {
+                    labels = removeAt(labels, index);
+                    children = removeAt(children, index);
+                }
+            }
+            if (contains(top, top.length, id)) {
+                rebuildTop(depth);
+            }
+            return ids.length == 0 && children.length == 0;
+        }
+
+        // Puts the id into top at the given key length unless it is already there with a
+        // shorter one or the top is full of better ids
+        private void offer(long id, int length) {
+            int count = top.length;
+            int existing = -1;
+            for (int i = 0; i < count; i++) {
+                if (top[i] == id) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing >= 0 && topLengths[existing] <= length) {
+                return;
+            }
+            int position = 0;
+            while (position < count && before(topLengths[position], top[position], length, id)) {
+                position++;
+            }
+            if (position == MAX_SUGGESTIONS) {
+                return;
+            }
+            int size = existing >= 0 ? count : Math.min(count + 1, MAX_SUGGESTIONS);
+            long[] newTop = new long[size];
+            int[] newLengths = new int[size];
+            int from = 0;
+            for (int to = 0; to < size; to++) {
+                if (to == position) {
+                    newTop[to] = id;
+                    newLengths[to] = length;
+                    continue;
+                }
+                if (from == existing) {
+                    from++;
+                }
+                newTop[to] = top[from];
+                newLengths[to] = topLengths[from];
+                from++;
+            }
+            top = newTop;
+            topLengths = newLengths;
+        }
+
+        // Merges this node's ids with the children's tops, which are already sorted; an id
+        // reached through several keys keeps its first, shortest occurrence
+        private void rebuildTop(int depth) {
+            if (ids.length == 0 && children.length == 1) {
+                top = children[0].top;
+                topLengths = children[0].topLengths;
+                return;
+            }
+            long[] merged = new long[MAX_SUGGESTIONS];
+            int[] mergedLengths = new int[MAX_SUGGESTIONS];
+            int count = 0;
+            int own = 0;
+            int[] heads = new int[children.length];
+            while (count < MAX_SUGGESTIONS) {
+                int best = -1;
+                long bestId = 0;
+                int bestLength = 0;
+                if (own < ids.length) {
+                    bestId = ids[own];
+                    bestLength = depth;
+                    best = children.length;
+                }
+                for (int c = 0; c < children.length; c++) {
+                    Node child = children[c];
+                    int head = heads[c];
+                    if (head < child.top.length
+                            && (best < 0 || before(child.topLengths[head], child.top[head], bestLength, bestId))) {
+                        best = c;
+                        bestId = child.top[head];
+                        bestLength = child.topLengths[head];
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                if (best == children.length) {
+                    own++;
+                } else {
+                    heads[best]++;
+                }
+                if (!contains(merged, count, bestId)) {
+                    merged[count] = bestId;
+                    mergedLengths[count++] = bestLength;
+                }
+            }
+            top = count == 0 ? NO_IDS : Arrays.copyOf(merged, count);
+            topLengths = count == 0 ? NO_LENGTHS : Arrays.copyOf(mergedLengths, count);
+        }
+
+        private static boolean before(int length, long id, int otherLength, long otherId) {
+            return length < otherLength || (length == otherLength && id < otherId);
+        }
+
+        private static boolean contains(long[] values, int length, long value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static char[] insertAt(char[] array, int index, char value) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static Node[] insertAt(Node[] array, int index, Node value) {
+            Node[] result = new Node[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static long[] removeAt(long[] array, int index) {
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+
+        private static char[] removeAt(char[] array, int index) {
+            char[] result = new char[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+
+        private static Node[] removeAt(Node[] array, int index) {
+            Node[] result = new Node[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+    }
+}
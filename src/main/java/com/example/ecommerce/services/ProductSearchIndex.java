@@ -0,0 +1,151 @@
+package com.example.ecommerce.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.ecommerce.dto.ProductDTO;
+
+// Inverted index over product names and descriptions. Query terms match indexed
+// terms exactly or by prefix; every query term must match, and products are
+// ranked by summed term weights (name hits outweigh description hits).
+@Component
+public class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESC_WEIGHT = 1.0f;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, List<String>> termsByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(ProductDTO product) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : tokenize(product.getProductName())) {
+            weights.merge(term, NAME_WEIGHT, Float::sum);
+        }
+        for (String term : tokenize(product.getProductDesc())) {
+            weights.merge(term, DESC_WEIGHT, Float::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+            termsByProduct.put(product.getId(), new ArrayList<>(weights.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns up to limit product ids, best match first
+    public List<Long> search(String query, int limit) {
+        return scores(query).entrySet()
+                .stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Every matching product id, unranked
+    public Set<Long> matches(String query) {
+        return scores(query).keySet();
+    }
+
+    private Map<Long, Float> scores(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Float>> entry : prefixRange(queryTerm).entrySet()) {
+                    float factor = entry.getKey().length() == queryTerm.length() ? 1.0f : PREFIX_FACTOR;
+                    entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+                }
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return scores;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private NavigableMap<String, Map<Long, Float>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private Map<Long, Float> intersect(Map<Long, Float> scores, Map<Long, Float> termScores) {
+        Map<Long, Float> result = new HashMap<>();
+        scores.forEach((id, score) -> {
+            Float termScore = termScores.get(id);
+            if (termScore != null) {
+                result.put(id, score + termScore);
+            }
+        });
+        return result;
+    }
+
+    private void removeLocked(Long productId) {
+        List<String> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(productId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package com.example.ecommerce.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.ecommerce.dto.CacheStatsDTO;
 import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.ProductSortOrder;
+import com.example.ecommerce.dto.ProductSuggestionDTO;
 import com.example.ecommerce.exceptions.ResourceNotFoundException;
 import com.example.ecommerce.models.Product;
 import com.example.ecommerce.repositories.ProductRepository;
@@ -20,25 +35,74 @@ import lombok.RequiredArgsConstructor;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final StockReservationService stockReservationService;
+    private final NdjsonExporter ndjsonExporter;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductNameSuggester nameSuggester;
+    private final ProductFilterIndex filterIndex;
+    private final OrderHistoryService orderHistoryService;
+    private final AdminStatsService adminStatsService;
+    private final OptimisticRetry optimisticRetry;
+    private final SingleFlight<Long, ProductDTO> productLoads = new SingleFlight<>();
 
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexes() {
+        try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+            products.forEach(product -> {
+                searchIndex.index(product);
+                nameSuggester.add(product.getId(), product.getProductName());
+                filterIndex.put(product);
+            });
+        }
+    }
+
+    // Hits don't need a connection; a miss runs the repository's own read-only transaction
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll()
+        return catalogCache.getAllProducts(() -> productRepository.findAll()
                 .stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
+    // No surrounding transaction, so callers waiting on a shared load don't hold connections
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return convertToDTO(product);
+        return catalogCache.getProduct(id, () -> productLoads.load(id, () -> productRepository.findById(id)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id))));
     }
 
-    public List<ProductDTO> searchProductsByName(String name) {
-        return productRepository.findByProductNameContainingIgnoreCase(name)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<ProductDTO> searchProducts(String query, int limit) {
+        return loadProducts(searchIndex.search(query, limit));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> filterProducts(BigDecimal minCost, BigDecimal maxCost, boolean inStock,
+            String name, ProductSortOrder sort, int limit) {
+        Set<Long> nameMatches = name != null && !name.isBlank() ? searchIndex.matches(name) : null;
+        int wanted = limit;
+        while (true) {
+            List<Long> ids = filterIndex.filter(minCost, maxCost, inStock, nameMatches, sort == ProductSortOrder.PRICE_DESC, wanted);
+            List<ProductDTO> products = loadProducts(ids);
+            if (inStock) {
+                // The index trails commits slightly; never report a sold-out product as in stock
+                products = products.stream().filter(product -> product.getQuantity() > 0).collect(Collectors.toList());
+            }
+            // Ask again for as many rows as were dropped, until the page is full or the index runs out
+            if (products.size() >= limit || ids.size() < wanted) {
+                return products.size() > limit ? products.subList(0, limit) : products;
+            }
+            wanted += limit - products.size();
+        }
+    }
+
+    // Served entirely from memory, so no transaction is opened
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductSuggestionDTO> suggestProducts(String query, int limit) {
+        return nameSuggester.suggest(query, limit);
     }
 
     public List<ProductDTO> getProductsByMaxCost(BigDecimal maxCost) {
@@ -48,23 +112,139 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ProductDTO> getAvailableProducts() {
-        return productRepository.findByQuantityGreaterThan(0)
+        return catalogCache.getAvailableProducts(() -> productRepository.findByQuantityGreaterThan(0)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+
+    public CacheStatsDTO getCatalogCacheStats() {
+        return catalogCache.getStats();
+    }
+
+    public List<ProductDTO> getProductsPage(long after, int limit) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<ProductDTO> getProductsByMaxCostPage(BigDecimal maxCost, long after, int limit) {
+        return productRepository.findByCostLessThanEqualAndIdGreaterThanOrderByIdAsc(maxCost, after, Limit.of(limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<ProductDTO> getAvailableProductsPage(long after, int limit) {
+        return productRepository.findByQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(0, after, Limit.of(limit))
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out) throws IOException {
+        try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+            return ndjsonExporter.write(products, out);
+        }
+    }
+
     public ProductDTO createProduct(ProductDTO productDTO) {
         Product product = convertToEntity(productDTO);
         Product savedProduct = productRepository.save(product);
-        return convertToDTO(savedProduct);
+        catalogCache.invalidate(savedProduct.getId());
+        ProductDTO savedDTO = convertToDTO(savedProduct);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.index(savedDTO);
+            nameSuggester.add(savedDTO.getId(), savedDTO.getProductName());
+            filterIndex.put(savedDTO);
+        });
+        return savedDTO;
+    }
+
+    // Inserts rows without an id and overwrites the products whose id exists. The result lines
+    // up with the input and holds null for ids that were not found.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> upsertProducts(List<ProductDTO> rows) {
+        return optimisticRetry.execute("ProductService.upsertProducts", () -> applyUpserts(rows));
     }
 
+    // Mutations run through optimisticRetry, which owns the transaction and re-runs them
+    // when a concurrent writer got to a row first
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
+        return optimisticRetry.execute("ProductService.updateProduct", () -> applyUpdate(id, productDTO));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductDTO updateProductQuantity(Long id, Integer quantity) {
+        return optimisticRetry.execute("ProductService.updateProductQuantity", () -> applyQuantity(id, quantity));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void deleteProduct(Long id) {
+        optimisticRetry.run("ProductService.deleteProduct", () -> applyDelete(id));
+    }
+
+    private List<ProductDTO> applyUpserts(List<ProductDTO> rows) {
+        Set<Long> ids = rows.stream()
+                .map(ProductDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> existing = ids.isEmpty() ? Map.of() : productRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ProductDTO row : rows) {
+            Product product = row.getId() == null ? convertToEntity(row) : existing.get(row.getId());
+            if (product != null && row.getId() != null) {
+                if (!product.getProductName().equals(row.getProductName())) {
+                    orderHistoryService.recordProductRenamed(product.getId(), row.getProductName());
+                }
+                int previousQuantity = product.getQuantity();
+                product.setProductName(row.getProductName());
+                product.setQuantity(row.getQuantity());
+                product.setCost(row.getCost());
+                product.setProductDesc(row.getProductDesc());
+                product.setProductUrl(row.getProductUrl());
+                stockReservationService.setStock(product, previousQuantity);
+            }
+            products.add(product);
+        }
+        productRepository.saveAll(products.stream().filter(Objects::nonNull).toList());
+        
+        List<ProductDTO> saved = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDTO dto = product != null ? convertToDTO(product) : null;
+            if (dto != null) {
+                catalogCache.invalidate(dto.getId());
+            }
+            saved.add(dto);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            List<ProductDTO> indexed = saved.stream().filter(Objects::nonNull).toList();
+            indexed.forEach(dto -> {
+                searchIndex.index(dto);
+                nameSuggester.add(dto.getId(), dto.getProductName());
+            });
+            // One merge into the price layout for the whole batch
+            filterIndex.putAll(indexed);
+        });
+        return saved;
+    }
+
+    private ProductDTO applyUpdate(Long id, ProductDTO productDTO) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
+        if (!existingProduct.getProductName().equals(productDTO.getProductName())) {
+            orderHistoryService.recordProductRenamed(id, productDTO.getProductName());
+        }
+        int previousQuantity = existingProduct.getQuantity();
         existingProduct.setProductName(productDTO.getProductName());
         existingProduct.setQuantity(productDTO.getQuantity());
         existingProduct.setCost(productDTO.getCost());
@@ -72,27 +252,55 @@ public class ProductService {
         existingProduct.setProductUrl(productDTO.getProductUrl());
         
         Product updatedProduct = productRepository.save(existingProduct);
-        return convertToDTO(updatedProduct);
+        stockReservationService.setStock(updatedProduct, previousQuantity);
+        catalogCache.invalidate(id);
+        ProductDTO updatedDTO = convertToDTO(updatedProduct);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.index(updatedDTO);
+            nameSuggester.add(updatedDTO.getId(), updatedDTO.getProductName());
+            filterIndex.put(updatedDTO);
+        });
+        return updatedDTO;
     }
 
-    public ProductDTO updateProductQuantity(Long id, Integer quantity) {
+    private ProductDTO applyQuantity(Long id, Integer quantity) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
+        int previousQuantity = existingProduct.getQuantity();
         existingProduct.setQuantity(quantity);
         Product updatedProduct = productRepository.save(existingProduct);
-        return convertToDTO(updatedProduct);
+        stockReservationService.setStock(updatedProduct, previousQuantity);
+        catalogCache.invalidate(id);
+        ProductDTO updatedDTO = convertToDTO(updatedProduct);
+        TransactionCallbacks.afterCommit(() -> filterIndex.put(updatedDTO));
+        return updatedDTO;
     }
 
-    public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
-        }
-        productRepository.deleteById(id);
+    private void applyDelete(Long id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        adminStatsService.recordOrdersRemoved(product.getOrders());
+        productRepository.delete(product);
+        orderHistoryService.recordProductDeleted(id);
+        stockReservationService.forget(id);
+        catalogCache.invalidate(id);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.remove(id);
+            nameSuggester.remove(id);
+            filterIndex.remove(id);
+        });
     }
 
     // Helper methods
-    private ProductDTO convertToDTO(Product product) {
+    private List<ProductDTO> loadProducts(List<Long> ids) {
+        return catalogCache.getProducts(ids, missing -> productRepository.findAllById(missing)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+
+    ProductDTO convertToDTO(Product product) {
         ProductDTO dto = new ProductDTO();
         dto.setId(product.getId());
         dto.setProductName(product.getProductName());
@@ -0,0 +1,123 @@
+package com.example.ecommerce.services;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.ecommerce.config.SqlMetricsListener;
+import com.example.ecommerce.dto.ConflictMetricsDTO;
+import com.example.ecommerce.dto.EndpointMetricsDTO;
+import com.example.ecommerce.dto.MetricsDTO;
+
+import lombok.RequiredArgsConstructor;
+
+// In-process latency and SQL metrics for the hot paths. Each controller method gets its
+// own histograms on first use; after that recording only touches atomics.
+@Service
+@RequiredArgsConstructor
+public class RequestMetricsService {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SqlMetricsListener sqlMetrics;
+    private final ConcurrentMap<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram transactions = new LatencyHistogram();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+    private final LatencyHistogram connectionUsage = new LatencyHistogram();
+    private final LongAdder connectionTimeouts = new LongAdder();
+    private final ConcurrentMap<String, Conflicts> conflicts = new ConcurrentHashMap<>();
+
+    private static final class Endpoint {
+        private final String handler;
+        private final String route;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram jdbc = new LatencyHistogram();
+        private final LatencyHistogram statements = new LatencyHistogram();
+
+        private Endpoint(String handler, String route) {
+            this.handler = handler;
+            this.route = route;
+        }
+    }
+
+    private static final class Conflicts {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+
+    public void recordRequest(HandlerMethod handler, String httpMethod, String pattern,
+            long elapsedNanos, long statements, long jdbcNanos) {
+        Method method = handler.getMethod();
+        Endpoint endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(method, m -> new Endpoint(
+                    handler.getBeanType().getSimpleName() + "." + m.getName(),
+                    httpMethod + " " + pattern));
+        }
+        endpoint.latency.record(elapsedNanos);
+        endpoint.jdbc.record(jdbcNanos);
+        endpoint.statements.record(statements);
+    }
+
+    public void recordTransaction(long elapsedNanos) {
+        transactions.record(elapsedNanos);
+    }
+
+    public void recordConnectionWait(long elapsedNanos) {
+        connectionWait.record(elapsedNanos);
+    }
+
+    public void recordConnectionUsage(long elapsedNanos) {
+        connectionUsage.record(elapsedNanos);
+    }
+
+    public void recordConnectionTimeout() {
+        connectionTimeouts.increment();
+    }
+
+    public void recordConflict(String operation, boolean retried) {
+        Conflicts counters = conflicts.computeIfAbsent(operation, o -> new Conflicts());
+        counters.conflicts.increment();
+        (retried ? counters.retries : counters.exhausted).increment();
+    }
+
+    public MetricsDTO getMetrics() {
+        List<EndpointMetricsDTO> summaries = endpoints.values()
+                .stream()
+                .map(endpoint -> new EndpointMetricsDTO(
+                        endpoint.handler,
+                        endpoint.route,
+                        endpoint.latency.toMillis(),
+                        endpoint.jdbc.toMillis(),
+                        endpoint.statements.getMean(),
+                        endpoint.statements.valueAt(0.99),
+                        endpoint.statements.getMax()))
+                .sorted(Comparator.comparing(EndpointMetricsDTO::getHandler))
+                .toList();
+        List<ConflictMetricsDTO> conflictSummaries = conflicts.entrySet()
+                .stream()
+                .map(entry -> new ConflictMetricsDTO(
+                        entry.getKey(),
+                        entry.getValue().conflicts.sum(),
+                        entry.getValue().retries.sum(),
+                        entry.getValue().exhausted.sum()))
+                .sorted(Comparator.comparing(ConflictMetricsDTO::getOperation))
+                .toList();
+        return new MetricsDTO(
+                summaries,
+                transactions.toMillis(),
+                connectionWait.toMillis(),
+                connectionUsage.toMillis(),
+                connectionTimeouts.sum(),
+                sqlMetrics.totalStatements(),
+                sqlMetrics.totalJdbcNanos() / NANOS_PER_MILLI,
+                conflictSummaries);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ecommerce.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Coalesces concurrent loads of the same key: the first caller runs the loader and
+// everyone arriving while it is in flight waits for and shares its result (or failure).
+// Calls are tracked only while running, in lock-striped maps with a per-stripe cap;
+// once a stripe is full, further callers just load on their own.
+public class SingleFlight<K, V> {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_IN_FLIGHT_PER_STRIPE = 256;
+
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public SingleFlight() {
+        stripes = (Stripe<K, V>[]) new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        Stripe<K, V> stripe = stripeFor(key);
+        CompletableFuture<V> call;
+        boolean leader = false;
+        stripe.lock.lock();
+        try {
+            call = stripe.calls.get(key);
+            if (call == null && stripe.calls.size() < MAX_IN_FLIGHT_PER_STRIPE) {
+                call = new CompletableFuture<>();
+                stripe.calls.put(key, call);
+                leader = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (call == null) {
+            return loader.get();
+        }
+        if (!leader) {
+            return await(call);
+        }
+
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            stripe.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        stripe.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, CompletableFuture<V>> calls = new HashMap<>();
+
+        private void remove(K key, CompletableFuture<V> call) {
+            lock.lock();
+            try {
+                calls.remove(key, call);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.ecommerce.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ecommerce.dto.StockAdjustmentDTO;
+import com.example.ecommerce.dto.StockShardsDTO;
+import com.example.ecommerce.dto.StockSyncResultDTO;
+import com.example.ecommerce.exceptions.InsufficientStockException;
+import com.example.ecommerce.exceptions.ResourceNotFoundException;
+import com.example.ecommerce.models.Product;
+import com.example.ecommerce.repositories.ProductRepository;
+import com.example.ecommerce.repositories.ProductStockRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Stock is taken with a conditional UPDATE, so the database never oversells.
+// The in-memory counters in front of it only reject sold-out requests early; they
+// may run ahead of the database but never behind it. Sharded products take their
+// stock from StockShards instead and have no counter.
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductFilterIndex filterIndex;
+    private final StockShards stockShards;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    public void reserve(Long productId, int quantity) {
+        AtomicInteger counter = stockShards.isSharded(productId) ? null : counters.get(productId);
+        if (counter != null) {
+            int available = tryTake(counter, quantity);
+            if (available >= 0) {
+                throw new InsufficientStockException("Insufficient stock. Available: " + available + ", Requested: " + quantity);
+            }
+            // Hand the units back if the surrounding transaction rolls back
+            TransactionCallbacks.onRollback(() -> counter.addAndGet(quantity));
+        }
+
+        int available = take(productId, quantity);
+        if (available != StockShards.TAKEN) {
+            forget(productId);
+            throw new InsufficientStockException("Insufficient stock. Available: " + available + ", Requested: " + quantity);
+        }
+        TransactionCallbacks.afterCommit(() -> filterIndex.adjustQuantity(productId, -quantity));
+    }
+
+    // Takes stock from the in-memory counter only; the row is decremented later through
+    // applyReserved, which stays the final word. A missing counter is seeded from the row
+    // minus units that were taken but not yet written.
+    public void reserveAhead(Long productId, int quantity, ToIntFunction<Long> unwrittenUnits) {
+        AtomicInteger counter = counters.get(productId);
+        if (counter == null) {
+            // Loaded outside the map so the query doesn't block its bin. Unwritten units are read
+            // before the row: a write landing in between is then counted twice, which only
+            // makes the counter stricter.
+            int unwritten = unwrittenUnits.applyAsInt(productId);
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+            int stock = product.getStockShards() > 0 ? Arrays.stream(stockShards.getQuantities(productId)).sum() : product.getQuantity();
+            AtomicInteger seeded = new AtomicInteger(stock - unwritten);
+            AtomicInteger existing = counters.putIfAbsent(productId, seeded);
+            counter = existing != null ? existing : seeded;
+        }
+        int available = tryTake(counter, quantity);
+        if (available >= 0) {
+            throw new InsufficientStockException("Insufficient stock. Available: " + Math.max(available, 0) + ", Requested: " + quantity);
+        }
+    }
+
+    // Hands back units taken by reserveAhead that will never be written
+    public void cancelAhead(Long productId, int quantity) {
+        AtomicInteger counter = counters.get(productId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+        }
+    }
+
+    // Writes a reserveAhead to the row; false if the row no longer has the stock
+    public boolean applyReserved(Long productId, int quantity) {
+        if (take(productId, quantity) != StockShards.TAKEN) {
+            forget(productId);
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> filterIndex.adjustQuantity(productId, -quantity));
+        return true;
+    }
+
+    public void release(Long productId, int quantity) {
+        boolean sharded = stockShards.isSharded(productId) && stockShards.give(productId, quantity);
+        // No rows updated means the product was sharded after the check above, or is gone
+        if (!sharded && productRepository.incrementStock(productId, quantity) == 0) {
+            sharded = stockShards.give(productId, quantity);
+        }
+        if (!sharded) {
+            catalogCache.invalidate(productId);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            AtomicInteger counter = counters.get(productId);
+            if (counter != null) {
+                counter.addAndGet(quantity);
+            }
+            filterIndex.adjustQuantity(productId, quantity);
+        });
+    }
+
+    // Applies warehouse adjustments for a set of products with one locking read and one batched
+    // UPDATE. Each product's adjustments apply in order; a delta that would take its stock
+    // below zero leaves that product untouched.
+    public StockSyncResultDTO applyStockLevels(Map<Long, List<StockAdjustmentDTO>> adjustments) {
+        StockSyncResultDTO result = new StockSyncResultDTO();
+        Map<Long, Integer> current = productStockRepository.lockQuantities(adjustments.keySet());
+        // Sharded products are measured by their shards, locked after the product rows
+        Map<Long, int[]> shards = stockShards.lock(current.keySet());
+        shards.forEach((productId, shardQuantities) -> current.put(productId, Arrays.stream(shardQuantities).sum()));
+        Map<Long, Integer> changed = new HashMap<>();
+        adjustments.forEach((productId, productAdjustments) -> {
+            Integer before = current.get(productId);
+            if (before == null) {
+                result.getNotFound().add(productId);
+                return;
+            }
+            int level = before;
+            for (StockAdjustmentDTO adjustment : productAdjustments) {
+                level = adjustment.getQuantity() != null ? adjustment.getQuantity() : level + adjustment.getDelta();
+                if (level < 0) {
+                    result.getRejected().add(productId);
+                    return;
+                }
+            }
+            if (level == before) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else {
+                changed.put(productId, level);
+            }
+        });
+        if (changed.isEmpty()) {
+            return result;
+        }
+
+        productStockRepository.updateQuantities(changed);
+        Map<Long, Integer> deltas = new HashMap<>(changed.size() * 2);
+        changed.forEach((productId, level) -> {
+            if (shards.containsKey(productId)) {
+                stockShards.setStock(productId, shards.get(productId).length, level);
+            }
+            forget(productId);
+            catalogCache.invalidate(productId);
+            deltas.put(productId, level - current.get(productId));
+        });
+        TransactionCallbacks.afterCommit(() -> deltas.forEach(filterIndex::adjustQuantity));
+        result.setUpdated(changed.size());
+        return result;
+    }
+
+    // Seeds the counter with a quantity read inside the reserving transaction, once it has committed
+    public void seed(Long productId, int quantity) {
+        if (stockShards.isSharded(productId)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> counters.putIfAbsent(productId, new AtomicInteger(quantity)));
+    }
+
+    // Stock set directly by an admin edit. A sharded product spreads the new level over its
+    // shards; if the level is still the quantity the edit started from, the shards are left
+    // alone, since they may have moved on since the total was last folded.
+    public void setStock(Product product, int previousQuantity) {
+        forget(product.getId());
+        if (product.getStockShards() > 0 && product.getQuantity() != previousQuantity) {
+            productStockRepository.lockQuantities(List.of(product.getId()));
+            int shardCount = stockShards.getQuantities(product.getId()).length;
+            if (shardCount > 0) {
+                stockShards.setStock(product.getId(), shardCount, product.getQuantity());
+            }
+        }
+    }
+
+    // Splits the product's stock over count shards, or re-splits it if it is already sharded
+    public StockShardsDTO shardStock(Long productId, int count) {
+        int shardCount = stockShards.clampShardCount(count);
+        int total = lockStock(productId);
+        stockShards.reshard(productId, shardCount, total);
+        forget(productId);
+        catalogCache.invalidate(productId);
+        return new StockShardsDTO(productId, total, Arrays.stream(StockShards.spread(total, shardCount)).boxed().toList());
+    }
+
+    // Moves a sharded product's stock back into its quantity column
+    public StockShardsDTO unshardStock(Long productId) {
+        int total = lockStock(productId);
+        stockShards.reshard(productId, 0, total);
+        forget(productId);
+        catalogCache.invalidate(productId);
+        return new StockShardsDTO(productId, total, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public StockShardsDTO getStockShards(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        if (product.getStockShards() == 0) {
+            return new StockShardsDTO(productId, product.getQuantity(), List.of());
+        }
+        int[] shards = stockShards.getQuantities(productId);
+        return new StockShardsDTO(productId, Arrays.stream(shards).sum(), Arrays.stream(shards).boxed().toList());
+    }
+
+    // Drops the counter when stock is set directly (admin edits, deletes)
+    public void forget(Long productId) {
+        counters.remove(productId);
+        TransactionCallbacks.afterCommit(() -> counters.remove(productId));
+    }
+
+    // Returns TAKEN, otherwise the units that were available. Sharded products are tried
+    // first when known; a conditional decrement that fails may mean the product was
+    // sharded since, so the row decides.
+    private int take(Long productId, int quantity) {
+        if (stockShards.isSharded(productId)) {
+            int available = stockShards.take(productId, quantity);
+            if (available != StockShards.NOT_SHARDED) {
+                return available;
+            }
+        }
+        if (productRepository.decrementStock(productId, quantity) > 0) {
+            catalogCache.invalidate(productId);
+            return StockShards.TAKEN;
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        if (product.getStockShards() > 0) {
+            int available = stockShards.take(productId, quantity);
+            if (available != StockShards.NOT_SHARDED) {
+                return available;
+            }
+        }
+        return product.getQuantity();
+    }
+
+    // Locks the product row and its shards; returns its whole stock
+    private int lockStock(Long productId) {
+        Integer quantity = productStockRepository.lockQuantities(List.of(productId)).get(productId);
+        if (quantity == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        int[] shards = stockShards.lock(Set.of(productId)).get(productId);
+        return shards != null ? Arrays.stream(shards).sum() : quantity;
+    }
+
+    // Returns -1 when the units were taken, otherwise the quantity that was available
+    private int tryTake(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return current;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return -1;
+            }
+        }
+    }
+}
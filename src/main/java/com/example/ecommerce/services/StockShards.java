@@ -0,0 +1,227 @@
+package com.example.ecommerce.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ecommerce.repositories.ProductStockShardRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Stock for flash-sale products, split over several shard rows so concurrent orders
+// update different rows instead of queueing on one. An order takes from a random shard
+// that looked able to cover it; when none could, the shards are locked together and
+// evened out. A background thread folds the shard totals back into products.quantity,
+// so reads and the catalog cache see the sum without every order touching that row.
+// Callers run inside a transaction.
+@Component
+public class StockShards {
+
+    static final int TAKEN = -1;
+    static final int NOT_SHARDED = -2;
+
+    private static final int TAKE_ATTEMPTS = 3;
+
+    private final ProductStockShardRepository shardRepository;
+    private final ProductCatalogCache catalogCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxShards;
+    private final long foldIntervalMillis;
+
+    // Routing hint only; the stock_shards column is checked by every stock write
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+    private final Set<Long> unfolded = ConcurrentHashMap.newKeySet();
+    private final Thread folder = new Thread(this::foldLoop, "stock-shard-folder");
+    private volatile boolean running = true;
+
+    public StockShards(
+            ProductStockShardRepository shardRepository,
+            ProductCatalogCache catalogCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.shards.max-count:64}") int maxShards,
+            @Value("${inventory.shards.fold-interval-ms:500}") long foldIntervalMillis) {
+        this.shardRepository = shardRepository;
+        this.catalogCache = catalogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxShards = maxShards;
+        this.foldIntervalMillis = foldIntervalMillis;
+        folder.setDaemon(true);
+    }
+
+    // Totals left unfolded by a previous run are folded on the first pass
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        shardCounts.putAll(shardRepository.findShardCounts());
+        unfolded.addAll(shardCounts.keySet());
+        folder.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (folder.isAlive()) {
+            folder.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public boolean isSharded(Long productId) {
+        return shardCounts.containsKey(productId);
+    }
+
+    public int clampShardCount(int count) {
+        return Math.max(1, Math.min(count, maxShards));
+    }
+
+    // Returns TAKEN, NOT_SHARDED, or the units available when they fall short
+    public int take(Long productId, int quantity) {
+        for (int attempt = 0; attempt < TAKE_ATTEMPTS; attempt++) {
+            int[] snapshot = shardRepository.findQuantities(productId);
+            if (snapshot.length == 0) {
+                shardCounts.remove(productId);
+                return NOT_SHARDED;
+            }
+            shardCounts.put(productId, snapshot.length);
+            int shard = pickShard(snapshot, quantity);
+            if (shard < 0) {
+                break;
+            }
+            if (shardRepository.take(productId, shard, quantity)) {
+                changed(productId);
+                return TAKEN;
+            }
+            // Another order drained the shard first; look again rather than lock them all
+        }
+        int available = rebalance(productId, quantity);
+        if (available == TAKEN) {
+            changed(productId);
+        }
+        return available;
+    }
+
+    // False when the product has no shards
+    public boolean give(Long productId, int quantity) {
+        Integer count = shardCounts.get(productId);
+        int shard = ThreadLocalRandom.current().nextInt(count != null ? count : 1);
+        if (!shardRepository.give(productId, shard, quantity)) {
+            int[] shards = shardRepository.findQuantities(productId);
+            if (shards.length == 0) {
+                shardCounts.remove(productId);
+                return false;
+            }
+            // The hint had a stale shard count
+            shardRepository.give(productId, 0, quantity);
+        }
+        changed(productId);
+        return true;
+    }
+
+    // Current shard quantities without locking them; empty when the product is not sharded
+    public int[] getQuantities(Long productId) {
+        return shardRepository.findQuantities(productId);
+    }
+
+    // Locks the shards of every sharded product among the given ones, after their product rows
+    public Map<Long, int[]> lock(Set<Long> productIds) {
+        return shardRepository.lockQuantities(productIds);
+    }
+
+    // Sets the stock of a sharded product whose product row the caller has locked
+    public void setStock(Long productId, int shardCount, int quantity) {
+        shardRepository.updateQuantities(productId, spread(quantity, shardCount));
+        changed(productId);
+    }
+
+    // Re-splits a locked product's stock over count shards; zero shards unshards it
+    public void reshard(Long productId, int count, int total) {
+        shardRepository.replaceShards(productId, spread(total, count), total);
+        TransactionCallbacks.afterCommit(() -> {
+            if (count > 0) {
+                shardCounts.put(productId, count);
+            } else {
+                shardCounts.remove(productId);
+            }
+        });
+    }
+
+    // Evens out the locked shards after taking the units; returns the units available if short
+    private int rebalance(Long productId, int quantity) {
+        int[] shards = shardRepository.lockQuantities(productId);
+        if (shards.length == 0) {
+            return NOT_SHARDED;
+        }
+        int total = Arrays.stream(shards).sum();
+        if (total < quantity) {
+            return total;
+        }
+        shardRepository.updateQuantities(productId, spread(total - quantity, shards.length));
+        return TAKEN;
+    }
+
+    // A random shard among those that held enough, or -1 if none did
+    private static int pickShard(int[] quantities, int quantity) {
+        int candidates = 0;
+        int picked = -1;
+        for (int shard = 0; shard < quantities.length; shard++) {
+            if (quantities[shard] >= quantity && ThreadLocalRandom.current().nextInt(++candidates) == 0) {
+                picked = shard;
+            }
+        }
+        return picked;
+    }
+
+    static int[] spread(int total, int count) {
+        int[] quantities = new int[count];
+        for (int shard = 0; shard < count; shard++) {
+            quantities[shard] = total / count + (shard < total % count ? 1 : 0);
+        }
+        return quantities;
+    }
+
+    private void changed(Long productId) {
+        TransactionCallbacks.afterCommit(() -> unfolded.add(productId));
+    }
+
+    private void foldLoop() {
+        while (running) {
+            try {
+                Thread.sleep(foldIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            fold();
+        }
+        fold();
+    }
+
+    private void fold() {
+        if (unfolded.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(unfolded);
+        unfolded.removeAll(productIds);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Integer> totals = shardRepository.sumQuantities(productIds);
+                if (!totals.isEmpty()) {
+                    shardRepository.foldQuantities(totals).forEach(catalogCache::invalidate);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Left for the next pass
+            unfolded.addAll(productIds);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ecommerce.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ecommerce.dto.StockAdjustmentDTO;
+import com.example.ecommerce.dto.StockSyncResultDTO;
+
+// Warehouse inventory sync. Adjustments are grouped per product and applied in chunks of
+// products, one transaction each, so a large snapshot takes a handful of round trips.
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StockSyncService {
+
+    private final StockReservationService stockReservationService;
+    private final int batchSize;
+
+    public StockSyncService(
+            StockReservationService stockReservationService,
+            @Value("${inventory.sync.batch-size:1000}") int batchSize) {
+        this.stockReservationService = stockReservationService;
+        this.batchSize = batchSize;
+    }
+
+    public StockSyncResultDTO sync(List<StockAdjustmentDTO> items) {
+        // Sorted ids keep row locks in the same order as order placement and other syncs
+        Map<Long, List<StockAdjustmentDTO>> byProduct = new TreeMap<>();
+        for (StockAdjustmentDTO item : items) {
+            byProduct.computeIfAbsent(item.getProductId(), id -> new ArrayList<>()).add(item);
+        }
+
+        StockSyncResultDTO result = new StockSyncResultDTO();
+        Map<Long, List<StockAdjustmentDTO>> chunk = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<StockAdjustmentDTO>> entry : byProduct.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == batchSize) {
+                add(result, stockReservationService.applyStockLevels(chunk));
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            add(result, stockReservationService.applyStockLevels(chunk));
+        }
+        return result;
+    }
+
+    private static void add(StockSyncResultDTO total, StockSyncResultDTO chunk) {
+        total.setUpdated(total.getUpdated() + chunk.getUpdated());
+        total.setUnchanged(total.getUnchanged() + chunk.getUnchanged());
+        total.getNotFound().addAll(chunk.getNotFound());
+        total.getRejected().addAll(chunk.getRejected());
+    }
+}
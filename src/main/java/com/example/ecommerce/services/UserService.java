@@ -3,7 +3,9 @@ package com.example.ecommerce.services;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.ecommerce.dto.LoginDTO;
@@ -22,6 +24,9 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final AdminStatsService adminStatsService;
+    private final OrderHistoryService orderHistoryService;
+    private final SingleFlight<Long, UserDTO> userLoads = new SingleFlight<>();
 
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll()
@@ -30,10 +35,19 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    public List<UserDTO> getUsersPage(long after, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Concurrent lookups of one id share a single query; no transaction is held while waiting
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return convertToDTO(user);
+        return userLoads.load(id, () -> userRepository.findById(id)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id)));
     }
 
     public UserDTO getUserByEmail(String email) {
@@ -54,6 +68,7 @@ public class UserService {
         
         User user = convertToEntity(userDTO);
         User savedUser = userRepository.save(user);
+        adminStatsService.recordUserCreated(savedUser.getRole());
         return convertToDTO(savedUser);
     }
 
@@ -78,6 +93,9 @@ public class UserService {
             throw new DuplicateResourceException("User already exists with email: " + userDTO.getEmail());
         }
         
+        if (!existingUser.getName().equals(userDTO.getName())) {
+            orderHistoryService.recordUserRenamed(id, userDTO.getName());
+        }
         existingUser.setName(userDTO.getName());
         existingUser.setEmail(userDTO.getEmail());
         existingUser.setAddress(userDTO.getAddress());
@@ -89,6 +107,7 @@ public class UserService {
         
         // Update role if provided
         if (userDTO.getRole() != null) {
+            adminStatsService.recordUserRoleChanged(existingUser.getRole(), userDTO.getRole());
             existingUser.setRole(userDTO.getRole());
         }
         
@@ -97,14 +116,16 @@ public class UserService {
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        adminStatsService.recordOrdersRemoved(user.getOrders());
+        userRepository.delete(user);
+        orderHistoryService.recordUserDeleted(id);
+        adminStatsService.recordUserDeleted(user.getRole());
     }
 
     // Helper methods
-    private UserDTO convertToDTO(User user) {
+    UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
         dto.setName(user.getName());
@@ -0,0 +1,39 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update, including the
+-- columns added by the old migration.sql and add_product_url_migration.sql scripts.
+-- Existing databases are baselined at this version and skip this script, so it must not
+-- create anything those databases lack; later additions belong in V2 onwards.
+-- (Hibernate may have created role and order_status as MySQL ENUM columns; they are read
+-- and written the same way as the VARCHAR columns here.)
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    address VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    product_name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    cost DECIMAL(10,2) NOT NULL,
+    product_desc VARCHAR(1000),
+    product_url VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    order_status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    quantity INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_orders_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
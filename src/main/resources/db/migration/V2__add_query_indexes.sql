@@ -0,0 +1,21 @@
+-- Secondary indexes for the repository finders. Each index also carries the primary key,
+-- so rows with equal keys come back in id order and the keyset ORDER BY id needs no sort.
+-- orders.user_id and orders.product_id are already indexed by their foreign keys.
+
+-- OrderRepository: findByUserIdAndOrderStatus, findOrderDTOsByUserIdAndOrderStatus(After)
+CREATE INDEX idx_orders_user_status ON orders (user_id, order_status);
+
+-- OrderRepository: findByOrderStatus, findOrderDTOsByOrderStatus(After)
+CREATE INDEX idx_orders_status ON orders (order_status);
+
+-- OrderRepository: findRevenueSince (dashboard revenue window)
+CREATE INDEX idx_orders_created ON orders (created_at);
+
+-- ProductRepository: findByCostLessThanEqual(AndIdGreaterThan)
+CREATE INDEX idx_products_cost ON products (cost);
+
+-- ProductRepository: findByQuantityGreaterThan(AndIdGreaterThan)
+CREATE INDEX idx_products_quantity ON products (quantity);
+
+-- UserRepository: countByRole
+CREATE INDEX idx_users_role ON users (role);
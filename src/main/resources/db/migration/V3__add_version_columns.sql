@@ -0,0 +1,3 @@
+-- Optimistic locking for products and orders (@Version)
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
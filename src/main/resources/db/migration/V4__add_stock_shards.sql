@@ -0,0 +1,12 @@
+-- Sharded stock for hot products. While stock_shards > 0 the product's stock lives in
+-- its shard rows and products.quantity holds their last folded total.
+ALTER TABLE products ADD COLUMN stock_shards INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE product_stock_shards (
+    product_id BIGINT NOT NULL,
+    shard INTEGER NOT NULL,
+    quantity INTEGER NOT NULL,
+    PRIMARY KEY (product_id, shard),
+    CONSTRAINT ck_product_stock_shards_quantity CHECK (quantity >= 0),
+    CONSTRAINT fk_product_stock_shards_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+);
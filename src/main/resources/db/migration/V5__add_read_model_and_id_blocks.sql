@@ -0,0 +1,43 @@
+-- Tables and constraints introduced alongside the Flyway baseline. They live here rather
+-- than in V1 so databases baselined at V1 receive them too.
+
+-- Stock and price can never go negative; the conditional stock decrement relies on it
+ALTER TABLE products ADD CONSTRAINT ck_products_quantity CHECK (quantity >= 0);
+ALTER TABLE products ADD CONSTRAINT ck_products_cost CHECK (cost >= 0);
+
+-- Journal sequence of orders taken through write-behind intake; makes replay idempotent
+ALTER TABLE orders ADD COLUMN intake_seq BIGINT;
+ALTER TABLE orders ADD CONSTRAINT uk_orders_intake_seq UNIQUE (intake_seq);
+
+-- Last id handed out per table; see IdBlockInitializer. Seeded past the ids the old
+-- IDENTITY columns already handed out.
+CREATE TABLE id_blocks (
+    table_name VARCHAR(255) NOT NULL,
+    last_id BIGINT,
+    PRIMARY KEY (table_name)
+);
+
+INSERT INTO id_blocks (table_name, last_id) SELECT 'users', COALESCE(MAX(id), 0) FROM users;
+INSERT INTO id_blocks (table_name, last_id) SELECT 'products', COALESCE(MAX(id), 0) FROM products;
+INSERT INTO id_blocks (table_name, last_id) SELECT 'orders', COALESCE(MAX(id), 0) FROM orders;
+
+-- Per-user order history read model, filled from the orders that already exist
+CREATE TABLE order_history (
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    user_name VARCHAR(255) NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    order_status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (order_id)
+);
+
+CREATE INDEX idx_order_history_user_created ON order_history (user_id, created_at, order_id);
+CREATE INDEX idx_order_history_user_order ON order_history (user_id, order_id);
+CREATE INDEX idx_order_history_product ON order_history (product_id);
+
+INSERT INTO order_history (order_id, user_id, product_id, user_name, product_name, quantity, order_status, created_at)
+SELECT o.id, o.user_id, o.product_id, u.name, p.product_name, o.quantity, o.order_status, o.created_at
+FROM orders o JOIN users u ON u.id = o.user_id JOIN products p ON p.id = o.product_id;
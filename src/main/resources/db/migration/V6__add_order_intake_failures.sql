@@ -0,0 +1,13 @@
+-- Write-behind intake entries that were acknowledged but could not become orders, kept so
+-- the journal can move past them without losing them and clients polling the intake id
+-- learn the outcome
+CREATE TABLE order_intake_failures (
+    intake_seq BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    reason VARCHAR(1000) NOT NULL,
+    failed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (intake_seq)
+);
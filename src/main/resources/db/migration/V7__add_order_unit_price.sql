@@ -0,0 +1,4 @@
+-- Price each order was placed at, so revenue no longer moves when a product's cost is edited.
+-- Orders that predate the column take the cost current at migration time, the closest record there is
+ALTER TABLE orders ADD COLUMN unit_price DECIMAL(10,2) NOT NULL DEFAULT 0;
+UPDATE orders SET unit_price = (SELECT p.cost FROM products p WHERE p.id = orders.product_id);
@@ -0,0 +1,2 @@
+-- Order history is listed by order id, served by idx_order_history_user_order
+DROP INDEX idx_order_history_user_created ON order_history;
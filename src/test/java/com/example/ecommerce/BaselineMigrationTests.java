@@ -0,0 +1,67 @@
+package com.example.ecommerce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.services.OrderService;
+import com.example.ecommerce.services.ProductService;
+
+// Starts the application against a database created before Flyway managed the schema:
+// it is baselined at V1 and must receive everything added since through V2 onwards.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + BaselineMigrationTests.URL,
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1" })
+class BaselineMigrationTests {
+
+    static final String URL = "jdbc:h2:mem:pre-flyway;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static {
+        // Before the application context, and so Flyway, sees the database
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-flyway-schema.sql"));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void baselinedDatabaseReceivesLaterMigrations() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "SELECT CONCAT(\"version\", ' ', \"type\") FROM \"flyway_schema_history\" "
+                        + "WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"", String.class);
+        assertThat(applied).first().isEqualTo("1 BASELINE");
+        assertThat(applied.subList(1, applied.size())).isNotEmpty().allMatch(version -> version.endsWith(" SQL"));
+
+        // Existing orders are in the history read model
+        List<OrderDTO> history = orderService.getOrdersByUserId(7L);
+        assertThat(history).extracting(OrderDTO::getId).containsExactlyInAnyOrder(30L, 31L);
+
+        // New ids continue past the ones the IDENTITY columns handed out
+        ProductDTO created = productService.createProduct(new ProductDTO(null, "Tablet", 5, new BigDecimal("299.00"), null, null));
+        assertThat(created.getId()).isGreaterThan(12L);
+    }
+}
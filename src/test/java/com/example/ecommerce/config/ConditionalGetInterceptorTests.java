@@ -0,0 +1,90 @@
+package com.example.ecommerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.ecommerce.services.ChangeCounters;
+
+class ConditionalGetInterceptorTests {
+
+    private final ChangeCounters changeCounters = new ChangeCounters();
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(changeCounters, ChangeCounters.Table.PRODUCTS);
+
+    @Test
+    void matchingTagIsAnsweredWithNotModified() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(null), first, null)).isTrue();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"products-");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(etag), second, null)).isFalse();
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    void writeToTheTableChangesTheTag() {
+        MockHttpServletResponse before = new MockHttpServletResponse();
+        interceptor.preHandle(get(null), before, null);
+        String etag = before.getHeader(HttpHeaders.ETAG);
+
+        // Orders have their own counter
+        changeCounters.changed(ChangeCounters.Table.ORDERS);
+        assertThat(interceptor.preHandle(get(etag), new MockHttpServletResponse(), null)).isFalse();
+
+        changeCounters.changed(ChangeCounters.Table.PRODUCTS);
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(etag), after, null)).isTrue();
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(after.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void writesAdvanceTheCounterOnlyOnceCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeCounters.changed(ChangeCounters.Table.PRODUCTS);
+            assertThat(changeCounters.version(ChangeCounters.Table.PRODUCTS)).isZero();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(changeCounters.version(ChangeCounters.Table.PRODUCTS)).isZero();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeCounters.changed(ChangeCounters.Table.PRODUCTS);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(changeCounters.version(ChangeCounters.Table.PRODUCTS)).isEqualTo(1);
+    }
+
+    @Test
+    void writesPassThroughUntagged() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/products/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
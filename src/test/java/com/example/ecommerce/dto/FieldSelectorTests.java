@@ -0,0 +1,68 @@
+package com.example.ecommerce.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.ecommerce.exceptions.UnknownFieldException;
+import com.example.ecommerce.models.OrderStatus;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class FieldSelectorTests {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void writesOnlyTheSelectedFieldsInDeclarationOrder() {
+        List<ProductDTO> rows = List.of(
+                new ProductDTO(1L, "Lamp", 3, new BigDecimal("10.50"), null, null),
+                new ProductDTO(2L, "Desk", 0, new BigDecimal("120.00"), "Oak", null));
+
+        List<ProductDTO> view = ProductDTO.FIELDS.select("productDesc, cost,id").apply(rows);
+
+        assertThat(view).containsExactlyElementsOf(rows);
+        assertThat(mapper.writeValueAsString(view)).isEqualTo(
+                "[{\"id\":1,\"cost\":10.50,\"productDesc\":null},{\"id\":2,\"cost\":120.00,\"productDesc\":\"Oak\"}]");
+        assertThat(mapper.writeValueAsString(ProductDTO.FIELDS.select("id").apply(List.of()))).isEqualTo("[]");
+    }
+
+    @Test
+    void valueFieldsAreWrittenByTheMapper() {
+        OrderDTO order = new OrderDTO();
+        order.setId(7L);
+        order.setOrderStatus(OrderStatus.CANCELLED);
+        order.setCreatedAt(LocalDateTime.of(2024, 3, 1, 12, 30));
+
+        assertThat(mapper.writeValueAsString(OrderDTO.FIELDS.select("createdAt,orderStatus,id").apply(List.of(order)))).isEqualTo(
+                "[{\"id\":7,\"orderStatus\":\"CANCELLED\",\"createdAt\":\"2024-03-01T12:30:00\"}]");
+    }
+
+    @Test
+    void equalSelectionsShareOneWriter() {
+        FieldSelector.Selection<ProductDTO> selection = ProductDTO.FIELDS.select("id,cost");
+
+        assertThat(ProductDTO.FIELDS.select(" cost ,, id")).isSameAs(selection);
+        assertThat(ProductDTO.FIELDS.select("id,cost,id")).isSameAs(selection);
+        assertThat(ProductDTO.FIELDS.select("id")).isNotSameAs(selection);
+    }
+
+    @Test
+    void noNamesMeansEveryField() {
+        assertThat(ProductDTO.FIELDS.select(null)).isNull();
+        assertThat(ProductDTO.FIELDS.select(" ")).isNull();
+        assertThat(ProductDTO.FIELDS.select(",")).isNull();
+    }
+
+    @Test
+    void unknownNameIsRejectedWithTheAvailableFields() {
+        assertThatThrownBy(() -> ProductDTO.FIELDS.select("id,price"))
+                .isInstanceOf(UnknownFieldException.class)
+                .hasMessage("Unknown field 'price'. Available fields: id, productName, quantity, cost, productDesc, productUrl");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.ecommerce.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Product;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.models.User;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class OrderRepositoryTests {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("Alice", "alice@example.com");
+        User bob = persistUser("Bob", "bob@example.com");
+        Product laptop = persistProduct("Laptop");
+        Product phone = persistProduct("Phone");
+
+        persistOrder(alice, laptop, OrderStatus.PENDING);
+        persistOrder(alice, phone, OrderStatus.SHIPPED);
+        persistOrder(bob, laptop, OrderStatus.PENDING);
+        persistOrder(bob, phone, OrderStatus.CANCELLED);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllOrderDTOsUsesSingleStatement() {
+        List<OrderDTO> orders = orderRepository.findAllOrderDTOs();
+
+        assertThat(orders).hasSize(4);
+        assertThat(orders).extracting(OrderDTO::getUserName).containsExactly("Alice", "Alice", "Bob", "Bob");
+        assertThat(orders).extracting(OrderDTO::getProductName).containsExactly("Laptop", "Phone", "Laptop", "Phone");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findOrderDTOsByUserIdUsesSingleStatement() {
+        List<OrderDTO> orders = orderRepository.findOrderDTOsByUserId(alice.getId());
+
+        assertThat(orders).hasSize(2);
+        assertThat(orders).allMatch(order -> order.getUserId().equals(alice.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findOrderDTOsByOrderStatusUsesSingleStatement() {
+        List<OrderDTO> orders = orderRepository.findOrderDTOsByOrderStatus(OrderStatus.PENDING);
+
+        assertThat(orders).hasSize(2);
+        assertThat(orders).extracting(OrderDTO::getUserName).containsExactly("Alice", "Bob");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findOrderDTOsByUserIdAndOrderStatusUsesSingleStatement() {
+        List<OrderDTO> orders = orderRepository.findOrderDTOsByUserIdAndOrderStatus(alice.getId(), OrderStatus.SHIPPED);
+
+        assertThat(orders).singleElement().satisfies(order -> {
+            assertThat(order.getProductName()).isEqualTo("Phone");
+            assertThat(order.getCreatedAt()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findOrderDTOsAfterWalksKeysetPages() {
+        List<OrderDTO> firstPage = orderRepository.findOrderDTOsAfter(0L, Limit.of(3));
+        List<OrderDTO> secondPage = orderRepository.findOrderDTOsAfter(firstPage.get(2).getId(), Limit.of(3));
+
+        assertThat(firstPage).hasSize(3);
+        assertThat(secondPage).singleElement()
+                .satisfies(order -> assertThat(order.getId()).isGreaterThan(firstPage.get(2).getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void streamAllOrderDTOsUsesSingleStatement() {
+        try (Stream<OrderDTO> orders = orderRepository.streamAllOrderDTOs()) {
+            assertThat(orders.map(OrderDTO::getProductName)).containsExactly("Laptop", "Phone", "Laptop", "Phone");
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setRole(Role.USER);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Product persistProduct(String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setQuantity(10);
+        product.setCost(new BigDecimal("99.99"));
+        entityManager.persist(product);
+        return product;
+    }
+
+    private void persistOrder(User user, Product product, OrderStatus status) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setProduct(product);
+        order.setOrderStatus(status);
+        order.setQuantity(1);
+        order.setUnitPrice(product.getCost());
+        entityManager.persist(order);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ecommerce.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+
+import jakarta.persistence.EntityManager;
+
+// Runs every filtered finder, captures the SQL Hibernate sends and asks the database for
+// its plan, failing if any table is read by a table scan or an unbounded index scan.
+// Finders that are meant to read whole tables (findAll, exports, aggregates) are not listed.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.ecommerce.repositories.QueryPlanTests$CapturingInspector")
+class QueryPlanTests {
+
+    // H2 annotates each table in a plan with the index it reads, followed by the index
+    // condition when there is one: /* public.idx_orders_status: order_status = ?1 */
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* (public\\.\\S+?)(:[^*]*)? \\*/");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void orderFindersUseIndexes() {
+        assertNoFullScans(() -> orderRepository.findByUserId(1L));
+        assertNoFullScans(() -> orderRepository.findByProductId(1L));
+        assertNoFullScans(() -> orderRepository.findByOrderStatus(OrderStatus.PENDING));
+        assertNoFullScans(() -> orderRepository.findByUserIdAndOrderStatus(1L, OrderStatus.PENDING));
+        assertNoFullScans(() -> orderRepository.findOrderDTOById(1L));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByUserId(1L));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByOrderStatus(OrderStatus.PENDING));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByUserIdAndOrderStatus(1L, OrderStatus.PENDING));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsAfter(0L, Limit.of(10)));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByUserIdAfter(1L, 0L, Limit.of(10)));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByOrderStatusAfter(OrderStatus.PENDING, 0L, Limit.of(10)));
+        assertNoFullScans(() -> orderRepository.findOrderDTOsByUserIdAndOrderStatusAfter(1L, OrderStatus.PENDING, 0L, Limit.of(10)));
+        assertNoFullScans(() -> orderRepository.findRevenueSince(LocalDateTime.now().minusDays(7)));
+        assertNoFullScans(() -> orderRepository.findWithProductByIdIn(List.of(1L, 2L)));
+        assertNoFullScans(() -> orderRepository.findIntakeSeqsIn(List.of(1L, 2L)));
+        assertNoFullScans(() -> orderRepository.findIdByIntakeSeq(1L));
+    }
+
+    @Test
+    void orderHistoryFindersUseIndexes() {
+        assertNoFullScans(() -> orderHistoryRepository.findOrderDTOsByUserId(1L));
+        assertNoFullScans(() -> orderHistoryRepository.findOrderDTOsByUserIdAndOrderStatus(1L, OrderStatus.PENDING));
+        assertNoFullScans(() -> orderHistoryRepository.findOrderDTOsByUserIdAfter(1L, 0L, Limit.of(10)));
+        assertNoFullScans(() -> orderHistoryRepository.findOrderDTOsByUserIdAndOrderStatusAfter(1L, OrderStatus.PENDING, 0L, Limit.of(10)));
+    }
+
+    @Test
+    void productFindersUseIndexes() {
+        assertNoFullScans(() -> productRepository.findByCostLessThanEqual(new BigDecimal("100.00")));
+        assertNoFullScans(() -> productRepository.findByQuantityGreaterThan(0));
+        assertNoFullScans(() -> productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        assertNoFullScans(() -> productRepository.findByCostLessThanEqualAndIdGreaterThanOrderByIdAsc(new BigDecimal("100.00"), 0L, Limit.of(10)));
+        assertNoFullScans(() -> productRepository.findByQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(0, 0L, Limit.of(10)));
+    }
+
+    @Test
+    void userFindersUseIndexes() {
+        assertNoFullScans(() -> userRepository.findByEmail("alice@example.com"));
+        assertNoFullScans(() -> userRepository.existsByEmail("alice@example.com"));
+        assertNoFullScans(() -> userRepository.countByRole(Role.USER));
+        assertNoFullScans(() -> userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+    }
+
+    private void assertNoFullScans(Runnable finder) {
+        CapturingInspector.STATEMENTS.clear();
+        finder.run();
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            int tables = 0;
+            while (access.find()) {
+                tables++;
+                assertThat(access.group(1))
+                        .as("table scan in plan for %s%n%s", sql, plan)
+                        .doesNotEndWith("tableScan");
+                assertThat(access.group(2))
+                        .as("unbounded index scan on %s in plan for %s%n%s", access.group(1), sql, plan)
+                        .isNotNull();
+            }
+            assertThat(tables).as("no table access found in plan for %s%n%s", sql, plan).isPositive();
+        }
+    }
+
+    // Parameters are bound as NULL; H2 picks the index from the predicate shape, not the values
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
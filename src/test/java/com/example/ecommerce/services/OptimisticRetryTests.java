@@ -0,0 +1,67 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.exceptions.ConcurrentUpdateException;
+import com.example.ecommerce.models.Product;
+import com.example.ecommerce.repositories.ProductRepository;
+
+// Commits its data, so it runs against its own database instead of the one the
+// @DataJpaTest slices count rows in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:services;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class OptimisticRetryTests {
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void conflictingWriteIsRerunOnFreshData() {
+        Long productId = productService.createProduct(new ProductDTO(null, "Contested " + UUID.randomUUID(), 5, new BigDecimal("10.00"), null, null)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String name = optimisticRetry.execute("test.rename", () -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                // Another writer commits between this read and the commit below
+                CompletableFuture.runAsync(() -> productService.updateProductQuantity(productId, 7)).join();
+            }
+            product.setProductName(product.getProductName() + " (renamed)");
+            return product.getProductName();
+        });
+
+        assertThat(attempts).hasValue(2);
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(product.getProductName()).isEqualTo(name);
+        assertThat(product.getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> optimisticRetry.run("test.always-conflicts", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+        })).isInstanceOf(ConcurrentUpdateException.class);
+
+        assertThat(attempts).hasValue(4);
+    }
+}
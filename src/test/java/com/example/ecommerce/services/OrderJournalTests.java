@@ -0,0 +1,70 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OrderJournalTests {
+
+    // Header plus four records
+    private static final int CAPACITY = 64 + 4 * 40;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void checkpointedSlotsAreReusedAndRecoveryFollowsTheWrap() throws Exception {
+        Path file = dir.resolve("journal.dat");
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        try (OrderJournal journal = new OrderJournal(file, CAPACITY)) {
+            for (int i = 1; i <= 4; i++) {
+                assertThat(journal.append(1, 10, i, createdAt).seq()).isEqualTo(i);
+            }
+            assertThat(journal.append(1, 10, 5, createdAt)).isNull();
+
+            journal.checkpoint(2);
+            // Seqs 5 and 6 take the slots of 1 and 2
+            assertThat(journal.append(1, 10, 5, createdAt).seq()).isEqualTo(5);
+            OrderJournal.Entry last = journal.append(2, 20, 6, createdAt);
+            assertThat(last.seq()).isEqualTo(6);
+            assertThat(journal.append(1, 10, 7, createdAt)).isNull();
+            journal.sync(last.seq());
+        }
+
+        try (OrderJournal journal = new OrderJournal(file, CAPACITY)) {
+            assertThat(journal.recovered()).extracting(OrderJournal.Entry::seq).containsExactly(3L, 4L, 5L, 6L);
+            assertThat(journal.recovered().get(3)).isEqualTo(new OrderJournal.Entry(6, 2, 20, 6, createdAt));
+            assertThat(journal.lastRecoveredSeq()).isEqualTo(6);
+
+            journal.checkpoint(6);
+            assertThat(journal.append(1, 10, 1, createdAt).seq()).isEqualTo(7);
+        }
+
+        // Only the entry after the checkpoint is replayed, even though older laps are still in the slots
+        try (OrderJournal journal = new OrderJournal(file, CAPACITY)) {
+            assertThat(journal.recovered()).extracting(OrderJournal.Entry::seq).containsExactly(7L);
+        }
+    }
+
+    @Test
+    void existingJournalKeepsItsSize() throws Exception {
+        Path file = dir.resolve("journal.dat");
+        try (OrderJournal journal = new OrderJournal(file, CAPACITY)) {
+            journal.append(1, 10, 1, LocalDateTime.now());
+        }
+
+        try (OrderJournal journal = new OrderJournal(file, CAPACITY * 4)) {
+            assertThat(journal.recovered()).hasSize(1);
+            for (int i = 0; i < 3; i++) {
+                assertThat(journal.append(1, 10, 1, LocalDateTime.now())).isNotNull();
+            }
+            assertThat(journal.append(1, 10, 1, LocalDateTime.now())).isNull();
+        }
+    }
+}
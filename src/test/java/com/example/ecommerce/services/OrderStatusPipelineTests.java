@@ -0,0 +1,107 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.ecommerce.dto.BulkStatusJobDTO;
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.UserDTO;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.repositories.ProductRepository;
+
+// Commits its data, so it runs against its own database instead of the one the
+// @DataJpaTest slices count rows in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:services;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class OrderStatusPipelineTests {
+
+    @Autowired
+    private OrderStatusPipeline orderStatusPipeline;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void bulkCancelReportsEachOrderAndRestoresStock() throws InterruptedException {
+        Long userId = createUser();
+        Long productId = createProduct(10);
+        Long first = createOrder(userId, productId, 2);
+        Long second = createOrder(userId, productId, 3);
+        Long alreadyCancelled = createOrder(userId, productId, 1);
+        orderService.updateOrderStatus(alreadyCancelled, OrderStatus.CANCELLED);
+        Long missing = Long.MAX_VALUE;
+        assertThat(quantityOf(productId)).isEqualTo(5);
+
+        // The duplicate id counts once
+        BulkStatusJobDTO job = orderStatusPipeline.submit(List.of(first, second, alreadyCancelled, missing, first), OrderStatus.CANCELLED);
+        assertThat(job.getRequested()).isEqualTo(4);
+        job = awaitCompletion(job.getJobId());
+
+        assertThat(job.getUpdated()).isEqualTo(2);
+        assertThat(job.getUnchanged()).isEqualTo(1);
+        assertThat(job.getNotFound()).containsExactly(missing);
+        assertThat(job.getFailed()).isEmpty();
+        assertThat(orderService.getOrderById(first).getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderService.getOrderById(second).getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderService.getOrdersByUserIdAndStatus(userId, OrderStatus.CANCELLED)).hasSize(3);
+        assertThat(quantityOf(productId)).isEqualTo(10);
+
+        // Cancelling again changes nothing and restores nothing
+        job = awaitCompletion(orderStatusPipeline.submit(List.of(first, second), OrderStatus.CANCELLED).getJobId());
+        assertThat(job.getUnchanged()).isEqualTo(2);
+        assertThat(quantityOf(productId)).isEqualTo(10);
+    }
+
+    private BulkStatusJobDTO awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        BulkStatusJobDTO job = orderStatusPipeline.getJob(jobId);
+        while (!job.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = orderStatusPipeline.getJob(jobId);
+        }
+        assertThat(job.isCompleted()).isTrue();
+        return job;
+    }
+
+    private int quantityOf(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getQuantity();
+    }
+
+    private Long createUser() {
+        UserDTO user = new UserDTO();
+        user.setName("Bulk");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password123");
+        user.setRole(Role.USER);
+        return userService.createUser(user).getId();
+    }
+
+    private Long createProduct(int quantity) {
+        return productService.createProduct(new ProductDTO(null, "Bulk " + UUID.randomUUID(), quantity, new BigDecimal("25.00"), null, null)).getId();
+    }
+
+    private Long createOrder(Long userId, Long productId, int quantity) {
+        OrderDTO order = new OrderDTO();
+        order.setUserId(userId);
+        order.setProductId(productId);
+        order.setQuantity(quantity);
+        return orderService.createOrder(order).getId();
+    }
+}
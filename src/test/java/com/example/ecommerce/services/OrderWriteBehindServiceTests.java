@@ -0,0 +1,188 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ecommerce.dto.OrderIntakeStatus;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.UserDTO;
+import com.example.ecommerce.models.Order;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.repositories.OrderIntakeFailureRepository;
+import com.example.ecommerce.repositories.OrderRepository;
+import com.example.ecommerce.repositories.ProductRepository;
+import com.example.ecommerce.repositories.UserRepository;
+
+// Write-behind is off in the test context; each test runs its own instance over a fresh
+// journal. Commits its data, so it runs against its own database instead of the one the
+// @DataJpaTest slices count rows in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:services;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class OrderWriteBehindServiceTests {
+
+    @TempDir
+    private Path journalDir;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderIntakeFailureRepository failureRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Every test's journal starts again at seq 1
+    @BeforeEach
+    void forgetEarlierIntakes() {
+        jdbcTemplate.update("UPDATE orders SET intake_seq = NULL WHERE intake_seq IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM order_intake_failures");
+    }
+
+    @Test
+    void replaySkipsEntriesThatAlreadyReachedTheDatabase() throws Exception {
+        Long userId = createUser();
+        Long productId = createProduct(10);
+        Path journalFile = journalDir.resolve("order-journal.dat");
+
+        // Three entries accepted before a crash, none checkpointed
+        OrderJournal journal = new OrderJournal(journalFile, 64 * 1024);
+        OrderJournal.Entry written = journal.append(userId, productId, 1, LocalDateTime.now());
+        OrderJournal.Entry failed = journal.append(userId, productId, 2, LocalDateTime.now());
+        OrderJournal.Entry unwritten = journal.append(userId, productId, 3, LocalDateTime.now());
+        journal.close();
+
+        // The first became an order and the second a failure before the crash
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Order order = new Order();
+            order.setUser(userRepository.getReferenceById(userId));
+            order.setProduct(productRepository.getReferenceById(productId));
+            order.setQuantity(written.quantity());
+            order.setUnitPrice(new BigDecimal("25.00"));
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setCreatedAt(written.createdAt());
+            order.setIntakeSeq(written.seq());
+            orderRepository.save(order);
+            failureRepository.insert(failed.seq(), userId, productId, failed.quantity(), failed.createdAt(), "Written before the crash");
+        });
+
+        OrderWriteBehindService service = start(journalFile);
+        try {
+            assertThat(service.getPendingCount()).isZero();
+        } finally {
+            service.stop();
+        }
+
+        assertThat(orderRepository.findIntakeSeqsIn(List.of(written.seq(), failed.seq(), unwritten.seq())))
+                .containsExactlyInAnyOrder(written.seq(), unwritten.seq());
+        assertThat(failureRepository.findReason(failed.seq())).contains("Written before the crash");
+        // Only the unwritten entry took stock on replay
+        assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(7);
+
+        // Checkpointed past all three, so a second restart has nothing to replay
+        OrderWriteBehindService restarted = start(journalFile);
+        try {
+            assertThat(restarted.getIntake(unwritten.seq()).getStatus()).isEqualTo(OrderIntakeStatus.CREATED);
+            assertThat(restarted.getIntake(failed.seq()).getStatus()).isEqualTo(OrderIntakeStatus.FAILED);
+        } finally {
+            restarted.stop();
+        }
+        assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void entryWhoseUserIsGoneIsRecordedAsFailed() throws Exception {
+        Long userId = createUser();
+        Long productId = createProduct(10);
+        Path journalFile = journalDir.resolve("order-journal.dat");
+
+        OrderJournal journal = new OrderJournal(journalFile, 64 * 1024);
+        OrderJournal.Entry orphaned = journal.append(Long.MAX_VALUE, productId, 2, LocalDateTime.now());
+        OrderJournal.Entry written = journal.append(userId, productId, 1, LocalDateTime.now());
+        journal.close();
+
+        OrderWriteBehindService service = start(journalFile);
+        try {
+            assertThat(service.getPendingCount()).isZero();
+            assertThat(service.getIntake(orphaned.seq()).getStatus()).isEqualTo(OrderIntakeStatus.FAILED);
+            assertThat(service.getIntake(orphaned.seq()).getReason()).isEqualTo("User not found with id: " + Long.MAX_VALUE);
+            assertThat(service.getIntake(written.seq()).getStatus()).isEqualTo(OrderIntakeStatus.CREATED);
+        } finally {
+            service.stop();
+        }
+        assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(9);
+    }
+
+    // Returns once the replayed entries are resolved
+    private OrderWriteBehindService start(Path journalFile) throws InterruptedException {
+        OrderWriteBehindService service = new OrderWriteBehindService(
+                orderRepository,
+                failureRepository,
+                userRepository,
+                productRepository,
+                stockReservationService,
+                adminStatsService,
+                orderHistoryService,
+                transactionManager,
+                journalFile.toString(),
+                1,
+                500);
+        service.start();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (service.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return service;
+    }
+
+    private Long createUser() {
+        UserDTO user = new UserDTO();
+        user.setName("Replay");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password123");
+        user.setRole(Role.USER);
+        return userService.createUser(user).getId();
+    }
+
+    private Long createProduct(int quantity) {
+        return productService.createProduct(new ProductDTO(null, "Journaled " + UUID.randomUUID(), quantity, new BigDecimal("25.00"), null, null)).getId();
+    }
+}
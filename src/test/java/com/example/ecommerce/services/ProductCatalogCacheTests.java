@@ -0,0 +1,92 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.ecommerce.dto.ProductDTO;
+
+class ProductCatalogCacheTests {
+
+    private final ChangeCounters changeCounters = new ChangeCounters();
+    private final ProductCatalogCache cache = new ProductCatalogCache(60, 3, changeCounters);
+
+    @Test
+    void repeatedReadsAreServedFromMemoryUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.getProduct(1L, () -> product(1L, "v" + loads.incrementAndGet())).getProductName()).isEqualTo("v1");
+        assertThat(cache.getProduct(1L, () -> product(1L, "v" + loads.incrementAndGet())).getProductName()).isEqualTo("v1");
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+
+        cache.invalidate(1L);
+        assertThat(cache.getProduct(1L, () -> product(1L, "v" + loads.incrementAndGet())).getProductName()).isEqualTo("v2");
+        assertThat(changeCounters.version(ChangeCounters.Table.PRODUCTS)).isEqualTo(1);
+    }
+
+    @Test
+    void loadThatRacedWithAnInvalidationIsNotCached() {
+        ProductDTO stale = cache.getProduct(1L, () -> {
+            // A writer commits while this load is still reading the old row
+            cache.invalidate(1L);
+            return product(1L, "old");
+        });
+        assertThat(stale.getProductName()).isEqualTo("old");
+        assertThat(cache.getProduct(1L, () -> product(1L, "new")).getProductName()).isEqualTo("new");
+
+        List<ProductDTO> staleView = cache.getAllProducts(() -> {
+            cache.invalidate(2L);
+            return List.of(product(2L, "old"));
+        });
+        assertThat(staleView).extracting(ProductDTO::getProductName).containsExactly("old");
+        assertThat(cache.getAllProducts(() -> List.of(product(2L, "new")))).extracting(ProductDTO::getProductName).containsExactly("new");
+    }
+
+    @Test
+    void listViewsAreDroppedByAnyProductWrite() {
+        cache.getAllProducts(() -> List.of(product(1L, "a"), product(2L, "b")));
+        cache.getAvailableProducts(() -> List.of(product(1L, "a")));
+        assertThat(cache.getAllProducts(List::of)).hasSize(2);
+        assertThat(cache.getAvailableProducts(List::of)).hasSize(1);
+
+        cache.invalidate(2L);
+
+        assertThat(cache.getAllProducts(List::of)).isEmpty();
+        assertThat(cache.getAvailableProducts(List::of)).isEmpty();
+    }
+
+    @Test
+    void batchReadsLoadOnlyTheMissesInOneCall() {
+        cache.getProduct(2L, () -> product(2L, "two"));
+        List<List<Long>> calls = new ArrayList<>();
+
+        List<ProductDTO> products = cache.getProducts(List.of(3L, 2L, 99L, 1L), ids -> {
+            calls.add(ids);
+            return ids.stream().filter(id -> id != 99L).map(id -> product(id, "p" + id)).toList();
+        });
+
+        assertThat(calls).containsExactly(List.of(3L, 99L, 1L));
+        assertThat(products).extracting(ProductDTO::getId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void fullCacheMakesRoomForNewEntries() {
+        for (long id = 1; id <= 5; id++) {
+            long productId = id;
+            cache.getProduct(productId, () -> product(productId, "p" + productId));
+        }
+
+        assertThat(cache.getStats().getSize()).isLessThanOrEqualTo(3);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(2);
+    }
+
+    private static ProductDTO product(Long id, String name) {
+        return new ProductDTO(id, name, 1, new BigDecimal("10.00"), null, null);
+    }
+}
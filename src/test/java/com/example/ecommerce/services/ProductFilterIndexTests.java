@@ -0,0 +1,140 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.ecommerce.dto.ProductDTO;
+
+class ProductFilterIndexTests {
+
+    private final ProductFilterIndex index = new ProductFilterIndex(10);
+
+    @Test
+    void filtersByPriceStockAndCandidatesInPriceOrder() {
+        index.put(product(1L, "5.00", 3));
+        index.put(product(2L, "20.00", 0));
+        index.put(product(3L, "12.50", 40));
+        index.put(product(4L, "12.50", 1));
+
+        assertThat(index.filter(null, null, false, null, false, 10)).containsExactly(1L, 3L, 4L, 2L);
+        assertThat(index.filter(new BigDecimal("12.5"), new BigDecimal("20"), false, null, true, 10)).containsExactly(2L, 4L, 3L);
+        assertThat(index.filter(null, null, true, null, false, 10)).containsExactly(1L, 3L, 4L);
+        assertThat(index.filter(null, null, true, Set.of(2L, 4L, 99L), false, 10)).containsExactly(4L);
+        assertThat(index.filter(new BigDecimal("30"), new BigDecimal("10"), false, null, false, 10)).isEmpty();
+        assertThat(index.countLowStock()).isEqualTo(3);
+    }
+
+    @Test
+    void changesAfterTheFirstQueryAreMergedIntoTheLayout() {
+        index.put(product(1L, "5.00", 3));
+        index.put(product(2L, "20.00", 0));
+        assertThat(index.filter(null, null, false, null, false, 10)).containsExactly(1L, 2L);
+
+        index.putAll(List.of(product(1L, "25.00", 3), product(3L, "1.00", 0)));
+        index.adjustQuantity(2L, 5);
+        index.adjustQuantity(3L, 2);
+        index.adjustQuantity(3L, -2);
+        index.remove(2L);
+
+        assertThat(index.filter(null, null, false, null, false, 10)).containsExactly(3L, 1L);
+        assertThat(index.filter(null, null, true, null, false, 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.countLowStock()).isEqualTo(2);
+    }
+
+    // Random writes and queries checked against a scan of a plain map
+    @Test
+    void agreesWithAScanOfEveryProduct() {
+        Random random = new Random(7);
+        Map<Long, ProductDTO> model = new HashMap<>();
+        for (int op = 0; op < 20_000; op++) {
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    ProductDTO product = randomProduct(random);
+                    index.put(product);
+                    model.put(product.getId(), product);
+                }
+                case 1 -> {
+                    List<ProductDTO> products = new ArrayList<>();
+                    for (int i = random.nextInt(4); i >= 0; i--) {
+                        products.add(randomProduct(random));
+                    }
+                    index.putAll(products);
+                    products.forEach(product -> model.put(product.getId(), product));
+                }
+                case 2 -> {
+                    long id = random.nextInt(200);
+                    index.remove(id);
+                    model.remove(id);
+                }
+                case 3 -> {
+                    long id = random.nextInt(200);
+                    int delta = random.nextInt(7) - 3;
+                    index.adjustQuantity(id, delta);
+                    ProductDTO product = model.get(id);
+                    if (product != null) {
+                        model.put(id, product(id, product.getCost().toPlainString(), product.getQuantity() + delta));
+                    }
+                }
+                default -> {
+                    BigDecimal min = random.nextBoolean() ? randomCost(random) : null;
+                    BigDecimal max = random.nextBoolean() ? randomCost(random) : null;
+                    boolean inStock = random.nextBoolean();
+                    Set<Long> candidates = null;
+                    if (random.nextBoolean()) {
+                        candidates = new HashSet<>();
+                        for (int i = random.nextInt(30); i > 0; i--) {
+                            candidates.add((long) random.nextInt(200));
+                        }
+                    }
+                    boolean descending = random.nextBoolean();
+                    int limit = 1 + random.nextInt(50);
+                    assertThat(index.filter(min, max, inStock, candidates, descending, limit))
+                            .as("op %d", op)
+                            .isEqualTo(scan(model, min, max, inStock, candidates, descending, limit));
+                }
+            }
+            assertThat(index.size()).isEqualTo(model.size());
+            assertThat(index.countLowStock()).isEqualTo(model.values().stream().filter(product -> product.getQuantity() <= 10).count());
+        }
+    }
+
+    private static List<Long> scan(Map<Long, ProductDTO> model, BigDecimal min, BigDecimal max, boolean inStock,
+            Set<Long> candidates, boolean descending, int limit) {
+        Comparator<ProductDTO> byCost = Comparator.comparing(ProductDTO::getCost).thenComparing(ProductDTO::getId);
+        return model.values()
+                .stream()
+                .filter(product -> min == null || product.getCost().compareTo(min) >= 0)
+                .filter(product -> max == null || product.getCost().compareTo(max) <= 0)
+                .filter(product -> !inStock || product.getQuantity() > 0)
+                .filter(product -> candidates == null || candidates.contains(product.getId()))
+                .sorted(descending ? byCost.reversed() : byCost)
+                .limit(limit)
+                .map(ProductDTO::getId)
+                .toList();
+    }
+
+    private static ProductDTO randomProduct(Random random) {
+        return product((long) random.nextInt(200), randomCost(random).toPlainString(), random.nextInt(15));
+    }
+
+    // Few distinct prices, so ties on cost are common
+    private static BigDecimal randomCost(Random random) {
+        return BigDecimal.valueOf(random.nextInt(40) * 25L, 2);
+    }
+
+    private static ProductDTO product(Long id, String cost, int quantity) {
+        return new ProductDTO(id, "Product " + id, quantity, new BigDecimal(cost), null, null);
+    }
+}
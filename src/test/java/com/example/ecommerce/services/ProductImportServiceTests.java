@@ -0,0 +1,132 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.ProductImportErrorDTO;
+import com.example.ecommerce.dto.ProductImportFormat;
+import com.example.ecommerce.dto.ProductImportResultDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+class ProductImportServiceTests {
+
+    private final ProductService productService = mock(ProductService.class);
+    private final ProductImportService importService = new ProductImportService(
+            productService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper(),
+            2,
+            10);
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    // Stands in for the database: new rows get an id, id 404 is unknown and a product named
+    // "Rejected" fails the whole batch it is in
+    private void upsertsLikeTheDatabase() {
+        when(productService.upsertProducts(anyList())).thenAnswer(invocation -> {
+            List<ProductDTO> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.getProductName().equals("Rejected"))) {
+                throw new DataIntegrityViolationException("Row rejected", new IllegalStateException("Value too long for column"));
+            }
+            return rows.stream()
+                    .map(row -> row.getId() == null ? withId(row, nextId.getAndIncrement()) : row.getId() == 404 ? null : row)
+                    .toList();
+        });
+    }
+
+    @Test
+    void invalidRowsFailAloneWithTheirLineNumbers() throws IOException {
+        upsertsLikeTheDatabase();
+
+        ProductImportResultDTO result = importNdjson("""
+                {"productName": "Lamp", "quantity": 3, "cost": 12.50}
+                {"quantity": -1, "cost": 5}
+                {"productName": "Desk", "quantity": "many", "cost": 80}
+                {"id": 404, "productName": "Ghost", "quantity": 1, "cost": 1}
+                {"id": 7, "productName": "Chair", "quantity": 2, "cost": 45}
+                """);
+
+        assertThat(result.getRows()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ProductImportErrorDTO::getLine).containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Product name is required; Quantity cannot be negative");
+        assertThat(result.getErrors().get(1).getMessage()).contains("many");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Product not found with id: 404");
+    }
+
+    @Test
+    void malformedInputStopsTheImportButKeepsEarlierRows() throws IOException {
+        upsertsLikeTheDatabase();
+
+        ProductImportResultDTO result = importNdjson("""
+                {"productName": "Lamp", "quantity": 3, "cost": 12.50}
+                {"productName": "Desk", "quantity": 1,
+                {"productName": "Chair", "quantity": 2, "cost": 45}
+                """);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Unreadable input, import stopped");
+    }
+
+    @Test
+    void batchTheDatabaseRejectsIsRetriedRowByRow() throws IOException {
+        upsertsLikeTheDatabase();
+
+        ProductImportResultDTO result = importNdjson("""
+                {"productName": "Lamp", "quantity": 3, "cost": 12.50}
+                {"productName": "Rejected", "quantity": 1, "cost": 1}
+                {"productName": "Chair", "quantity": 2, "cost": 45}
+                """);
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(new ProductImportErrorDTO(2, "Could not be saved: Value too long for column"));
+        // The failed batch of two, each of its rows alone, then the last batch
+        verify(productService, times(4)).upsertProducts(anyList());
+    }
+
+    @Test
+    void csvRowsAreReadByHeader() throws IOException {
+        upsertsLikeTheDatabase();
+
+        ProductImportResultDTO result = importService.importProducts(input("""
+                productName,quantity,cost,productDesc
+                Lamp,3,12.50,Warm light
+                Desk,1,abc,
+                """), ProductImportFormat.CSV);
+
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ProductImportErrorDTO::getLine).containsExactly(3L);
+    }
+
+    private ProductImportResultDTO importNdjson(String ndjson) throws IOException {
+        return importService.importProducts(input(ndjson), ProductImportFormat.NDJSON);
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ProductDTO withId(ProductDTO row, long id) {
+        return new ProductDTO(id, row.getProductName(), row.getQuantity(), row.getCost(), row.getProductDesc(), row.getProductUrl());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.ecommerce.dto.ProductSuggestionDTO;
+
+class ProductNameSuggesterTests {
+
+    private final ProductNameSuggester suggester = new ProductNameSuggester();
+
+    @Test
+    void matchesThePrefixOfAnyWord() {
+        suggester.add(1L, "Gaming Laptop");
+        suggester.add(2L, "Laptop-Bag");
+        suggester.add(3L, "Desk Lamp");
+
+        assertThat(ids("LAP")).containsExactly(1L, 2L);
+        assertThat(ids("laptop b")).containsExactly(2L);
+        assertThat(ids("la")).containsExactly(3L, 1L, 2L);
+        assertThat(ids("lamps")).isEmpty();
+        assertThat(ids("  ")).isEmpty();
+        assertThat(suggester.suggest("desk", 5)).containsExactly(new ProductSuggestionDTO(3L, "Desk Lamp"));
+    }
+
+    @Test
+    void shorterCompletionsComeFirstThenLowerIds() {
+        suggester.add(5L, "Cable");
+        suggester.add(4L, "Cables");
+        suggester.add(3L, "Cab");
+        suggester.add(2L, "Tie Cable");
+
+        // "tie cable" matches through its second word and ties with "cable" on length
+        assertThat(ids("cab")).containsExactly(3L, 2L, 5L, 4L);
+        assertThat(ids("cab", 2)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void renamingAndRemovingDropOldKeysAndPruneTheTrie() {
+        suggester.add(1L, "Red Chair");
+        suggester.add(2L, "Red Table");
+        suggester.add(1L, "Blue Chair");
+
+        assertThat(ids("red")).containsExactly(2L);
+        assertThat(ids("blue")).containsExactly(1L);
+        assertThat(ids("chair")).containsExactly(1L);
+
+        suggester.remove(1L);
+        suggester.remove(2L);
+        suggester.remove(3L);
+
+        assertThat(ids("red")).isEmpty();
+        assertThat(ids("c")).isEmpty();
+        Object root = ReflectionTestUtils.getField(suggester, "root");
+        assertThat((Object[]) ReflectionTestUtils.getField(root, "children")).isEmpty();
+        assertThat((long[]) ReflectionTestUtils.getField(root, "top")).isEmpty();
+    }
+
+    // Random adds, renames and removes checked against a scan of every name
+    @Test
+    void agreesWithAScanOfEveryName() {
+        Random random = new Random(42);
+        String[] words = { "a", "ab", "abc", "abd", "b", "ba", "bab", "c", "cab", "abba" };
+        Map<Long, String> names = new HashMap<>();
+        for (int op = 0; op < 5_000; op++) {
+            long id = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                suggester.remove(id);
+                names.remove(id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                suggester.add(id, name);
+                names.put(id, name);
+            }
+            String word = words[random.nextInt(words.length)];
+            String prefix = word.substring(0, Math.min(word.length(), 1 + random.nextInt(2)));
+            int limit = 1 + random.nextInt(ProductNameSuggester.MAX_SUGGESTIONS);
+            assertThat(ids(prefix, limit)).as("op %d, prefix %s", op, prefix).isEqualTo(scan(names, prefix, limit));
+        }
+    }
+
+    private List<Long> ids(String query) {
+        return ids(query, ProductNameSuggester.MAX_SUGGESTIONS);
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return suggester.suggest(query, limit).stream().map(ProductSuggestionDTO::getId).toList();
+    }
+
+    // Ranks each product by its shortest word-start key under the prefix, then by id
+    private static List<Long> scan(Map<Long, String> names, String prefix, int limit) {
+        Map<Long, Integer> lengths = new HashMap<>();
+        names.forEach((id, name) -> {
+            String normalized = name.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < normalized.length(); i++) {
+                if ((i == 0 || normalized.charAt(i - 1) == ' ') && normalized.startsWith(prefix, i)) {
+                    lengths.merge(id, normalized.length() - i, Math::min);
+                }
+            }
+        });
+        List<Long> ranked = new ArrayList<>(lengths.keySet());
+        ranked.sort(Comparator.comparing((Long id) -> lengths.get(id)).thenComparing(id -> id));
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+}
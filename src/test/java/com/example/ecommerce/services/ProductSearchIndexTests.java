@@ -0,0 +1,63 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.ecommerce.dto.ProductDTO;
+
+class ProductSearchIndexTests {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Test
+    void nameHitsOutrankDescriptionHitsAndExactTermsOutrankPrefixes() {
+        index.index(product(1L, "Desk", "A sturdy lamp holder"));
+        index.index(product(2L, "Lamp", null));
+        index.index(product(3L, "Lampshade", null));
+        index.index(product(4L, "Floor Lamp", "Lamp with a dimmer"));
+
+        // Name and description hits add up; a prefix hit counts half
+        assertThat(index.search("lamp", 10)).containsExactly(4L, 2L, 3L, 1L);
+        assertThat(index.search("lamp", 2)).containsExactly(4L, 2L);
+        assertThat(index.search("LAMPS", 10)).containsExactly(3L);
+        assertThat(index.search("lamb", 10)).isEmpty();
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        index.index(product(1L, "Red Chair", null));
+        index.index(product(2L, "Red Table", null));
+        index.index(product(3L, "Blue Chair", null));
+
+        assertThat(index.search("red chair", 10)).containsExactly(1L);
+        assertThat(index.matches("ch")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("red, ta", 10)).containsExactly(2L);
+        assertThat(index.search("green chair", 10)).isEmpty();
+        assertThat(index.search(" ?! ", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTermsAndRemovingDropsThem() {
+        index.index(product(1L, "Old Name", "Old description"));
+        index.index(product(1L, "New Name", null));
+
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("name", 10)).isEmpty();
+    }
+
+    @Test
+    void tokenizeSplitsOnAnythingButLettersAndDigits() {
+        assertThat(ProductSearchIndex.tokenize("USB-C cable, 2m")).containsExactly("usb", "c", "cable", "2m");
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    private static ProductDTO product(Long id, String name, String description) {
+        return new ProductDTO(id, name, 1, new BigDecimal("10.00"), description, null);
+    }
+}
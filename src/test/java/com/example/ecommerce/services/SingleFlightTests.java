@@ -0,0 +1,85 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = inParallel(8, () -> flight.load(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "loaded";
+        }));
+        // Let every caller reach the shared call before the leader's load returns
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failureIsSharedAndNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = inParallel(4, () -> flight.load(1L, () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(flight.load(1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void differentKeysLoadIndependently() {
+        assertThat(flight.load(1L, () -> "one")).isEqualTo("one");
+        assertThat(flight.load(2L, () -> "two")).isEqualTo("two");
+        // Nothing is kept once a load finishes
+        assertThat(flight.load(1L, () -> "again")).isEqualTo("again");
+    }
+
+    private static <T> List<Future<T>> inParallel(int threads, Callable<T> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<T>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(task));
+        }
+        executor.shutdown();
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.ecommerce.dto.OrderDTO;
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.StockShardsDTO;
+import com.example.ecommerce.dto.UserDTO;
+import com.example.ecommerce.exceptions.InsufficientStockException;
+import com.example.ecommerce.models.OrderStatus;
+import com.example.ecommerce.models.Role;
+import com.example.ecommerce.repositories.ProductRepository;
+
+// Commits its data, so it runs against its own database instead of the one the
+// @DataJpaTest slices count rows in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:services;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class StockReservationServiceTests {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentOrdersForTheLastUnitsNeverOversell() throws Exception {
+        Long userId = createUser();
+        Long productId = createProduct(3);
+
+        // Fewer threads than pooled connections: a thread holding the product row may need a
+        // second connection to allocate a block of order ids
+        List<Boolean> outcomes = concurrently(8, () -> {
+            try {
+                orderService.createOrder(order(userId, productId, 1));
+                return true;
+            } catch (InsufficientStockException e) {
+                return false;
+            }
+        });
+
+        assertThat(outcomes).filteredOn(created -> created).hasSize(3);
+        assertThat(quantityOf(productId)).isZero();
+        assertThat(orderService.getOrdersByUserId(userId)).hasSize(3);
+    }
+
+    @Test
+    void shardedStockRebalancesWhenNoShardCoversAnOrder() {
+        Long productId = createProduct(10);
+        StockShardsDTO sharded = stockReservationService.shardStock(productId, 4);
+        assertThat(sharded.getShards()).containsExactly(3, 3, 2, 2);
+
+        stockReservationService.reserve(productId, 3);
+        // No single shard holds 5 any more, so the shards are locked and evened out
+        stockReservationService.reserve(productId, 5);
+
+        StockShardsDTO after = stockReservationService.getStockShards(productId);
+        assertThat(after.getQuantity()).isEqualTo(2);
+        assertThat(after.getShards()).containsExactly(1, 1, 0, 0);
+        assertThatThrownBy(() -> stockReservationService.reserve(productId, 3))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Available: 2");
+
+        stockReservationService.release(productId, 4);
+        assertThat(stockReservationService.getStockShards(productId).getQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    void concurrentCancelsRestoreStockOnce() throws Exception {
+        Long userId = createUser();
+        Long productId = createProduct(5);
+        OrderDTO created = orderService.createOrder(order(userId, productId, 2));
+        assertThat(quantityOf(productId)).isEqualTo(3);
+
+        // The losers conflict on the order's version, roll back their release and, on retry,
+        // re-read an order that is already cancelled
+        concurrently(4, () -> orderService.updateOrderStatus(created.getId(), OrderStatus.CANCELLED));
+
+        assertThat(orderService.getOrderById(created.getId()).getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(quantityOf(productId)).isEqualTo(5);
+    }
+
+    private <T> List<T> concurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(threads);
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int quantityOf(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getQuantity();
+    }
+
+    private Long createUser() {
+        UserDTO user = new UserDTO();
+        user.setName("Buyer");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password123");
+        user.setRole(Role.USER);
+        return userService.createUser(user).getId();
+    }
+
+    private Long createProduct(int quantity) {
+        return productService.createProduct(new ProductDTO(null, "Limited " + UUID.randomUUID(), quantity, new BigDecimal("25.00"), null, null)).getId();
+    }
+
+    private static OrderDTO order(Long userId, Long productId, int quantity) {
+        OrderDTO order = new OrderDTO();
+        order.setUserId(userId);
+        order.setProductId(productId);
+        order.setQuantity(quantity);
+        return order;
+    }
+}
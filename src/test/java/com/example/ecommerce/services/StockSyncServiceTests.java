@@ -0,0 +1,65 @@
+package com.example.ecommerce.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.ecommerce.dto.ProductDTO;
+import com.example.ecommerce.dto.StockAdjustmentDTO;
+import com.example.ecommerce.dto.StockSyncResultDTO;
+
+// Commits its data, so it runs against its own database instead of the one the
+// @DataJpaTest slices count rows in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:services;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class StockSyncServiceTests {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void adjustmentsApplyInOrderPerProductAcrossChunks() {
+        Long restocked = createProduct(10);
+        Long oversold = createProduct(5);
+        Long sharded = createProduct(8);
+        Long untouched = createProduct(3);
+        Long missing = Long.MAX_VALUE;
+        stockReservationService.shardStock(sharded, 4);
+
+        // Two products per transaction, so the five products take three
+        StockSyncService stockSyncService = new StockSyncService(stockReservationService, 2);
+        StockSyncResultDTO result = stockSyncService.sync(List.of(
+                new StockAdjustmentDTO(restocked, 20, null),
+                new StockAdjustmentDTO(oversold, null, -6),
+                new StockAdjustmentDTO(sharded, null, 4),
+                new StockAdjustmentDTO(untouched, 3, null),
+                new StockAdjustmentDTO(missing, 1, null),
+                new StockAdjustmentDTO(restocked, null, -5)));
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getRejected()).containsExactly(oversold);
+        assertThat(result.getNotFound()).containsExactly(missing);
+        assertThat(quantityOf(restocked)).isEqualTo(15);
+        assertThat(quantityOf(oversold)).isEqualTo(5);
+        assertThat(quantityOf(sharded)).isEqualTo(12);
+        assertThat(stockReservationService.getStockShards(sharded).getShards()).hasSize(4);
+        assertThat(quantityOf(untouched)).isEqualTo(3);
+    }
+
+    private int quantityOf(Long productId) {
+        return stockReservationService.getStockShards(productId).getQuantity();
+    }
+
+    private Long createProduct(int quantity) {
+        return productService.createProduct(new ProductDTO(null, "Synced " + UUID.randomUUID(), quantity, new BigDecimal("25.00"), null, null)).getId();
+    }
+}
@@ -0,0 +1,42 @@
+-- A database as the application left it before Flyway: created by ddl-auto=update with
+-- IDENTITY ids, Hibernate's generated constraint names and MySQL ENUM columns
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    address VARCHAR(500),
+    email VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM('ADMIN', 'USER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cost DECIMAL(10,2) NOT NULL,
+    product_desc VARCHAR(1000),
+    product_name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    product_url VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    order_status ENUM('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'PROCESSING', 'SHIPPED') NOT NULL,
+    quantity INTEGER NOT NULL,
+    product_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKkp5k52qtiygd8jkag4hayd0qg FOREIGN KEY (product_id) REFERENCES products (id),
+    CONSTRAINT FK32ql8ubntj5uh44ph9659tiih FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO users (id, address, email, name, password, role) VALUES
+    (7, '1 Main St', 'alice@example.com', 'Alice', 'password123', 'USER');
+INSERT INTO products (id, cost, product_desc, product_name, quantity, product_url) VALUES
+    (12, 999.99, 'Latest model', 'Phone', 40, NULL);
+INSERT INTO orders (id, created_at, order_status, quantity, product_id, user_id) VALUES
+    (30, '2025-12-01 10:00:00', 'SHIPPED', 2, 12, 7),
+    (31, '2025-12-02 10:00:00', 'PENDING', 1, 12, 7);